@@ -0,0 +1,143 @@
+package andrehsvictor.dotask.aspect;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Renders join point arguments for DEBUG logs. Collections are summarised by
+ * size and long values are truncated. Arguments and the fields of the
+ * application's own types are redacted by name when it looks like a password,
+ * token or secret, so a secret is hidden whatever characters it contains.
+ * Other objects are rendered with {@code toString()}.
+ */
+final class ArgumentRenderer {
+
+    private static final int MAX_LENGTH = 256;
+    private static final String REDACTED = "[REDACTED]";
+    private static final String APPLICATION_PACKAGE = "andrehsvictor.dotask.";
+    private static final Pattern SENSITIVE_NAME = Pattern.compile("(?i).*(password|token|secret).*");
+
+    private static final ClassValue<List<Property>> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<Property> computeValue(Class<?> type) {
+            return properties(type);
+        }
+    };
+
+    private ArgumentRenderer() {
+    }
+
+    static String render(String[] names, Object[] args) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            boolean sensitive = names != null && i < names.length && isSensitive(names[i]);
+            builder.append(sensitive && args[i] != null ? REDACTED : render(args[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    private static String render(Object arg) {
+        String rendered = arg != null && arg.getClass().getName().startsWith(APPLICATION_PACKAGE)
+                && !arg.getClass().isEnum()
+                        ? renderProperties(arg)
+                        : renderValue(arg, true);
+        return rendered.length() <= MAX_LENGTH ? rendered : rendered.substring(0, MAX_LENGTH) + "...";
+    }
+
+    /**
+     * Renders the object's fields one level deep. Nested objects other than
+     * plain values are only named, so rendering never walks into lazy
+     * associations.
+     */
+    private static String renderProperties(Object arg) {
+        StringBuilder builder = new StringBuilder(arg.getClass().getSimpleName()).append('(');
+        List<Property> properties = PROPERTIES.get(arg.getClass());
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(property.name()).append('=');
+            Object value = property.get(arg);
+            builder.append(property.sensitive() && value != null ? REDACTED : renderValue(value, false));
+        }
+        return builder.append(')').toString();
+    }
+
+    private static String renderValue(Object value, boolean topLevel) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "[size=" + map.size() + "]";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[length="
+                    + Array.getLength(value) + "]";
+        }
+        if (topLevel || value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum<?> || value instanceof UUID || value instanceof Temporal) {
+            return value.toString();
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static boolean isSensitive(String name) {
+        return name != null && SENSITIVE_NAME.matcher(name).matches();
+    }
+
+    private static List<Property> properties(Class<?> type) {
+        List<Property> properties = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                properties.add(new Property(component.getName(), component.getAccessor()));
+            }
+            return properties;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()
+                        && !field.getName().startsWith("$")) {
+                    properties.add(new Property(field.getName(), field));
+                }
+            }
+        }
+        return properties;
+    }
+
+    private record Property(String name, boolean sensitive, Member member) {
+
+        private Property(String name, Member member) {
+            this(name, isSensitive(name), member);
+            ((AccessibleObject) member).trySetAccessible();
+        }
+
+        private Object get(Object target) {
+            try {
+                return member instanceof Method method ? method.invoke(target) : ((Field) member).get(target);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return "?";
+            }
+        }
+
+    }
+
+}
@@ -1,116 +1,44 @@
 package andrehsvictor.dotask.aspect;
 
-import java.util.Arrays;
-
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Aspect for comprehensive logging across controllers, services, and
- * repositories.
- * Captures method executions, execution times, and exceptions.
+ * Instruments controller methods. A sampled fraction of calls is timed into
+ * the {@code method.execution} histogram; arguments are only rendered, with
+ * sensitive values redacted, when DEBUG is enabled for this logger. Services
+ * and repositories are covered by {@link ServiceLoggingAspect} when enabled.
  */
 @Slf4j
 @Aspect
 @Component
+@ConditionalOnProperty(name = "logging.aspect.enabled", havingValue = "true", matchIfMissing = true)
 public class LoggingAspect {
 
-    @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
-    public void controllerPointcut() {
-
-    }
-
-    @Pointcut("within(@org.springframework.stereotype.Service *)")
-    public void servicePointcut() {
+    private final MethodTimers timers;
 
+    public LoggingAspect(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${logging.aspect.sample-rate}") double sampleRate) {
+        this.timers = new MethodTimers("controller", meterRegistry, sampleRate);
     }
 
-    @Pointcut("within(@org.springframework.stereotype.Repository *)")
-    public void repositoryPointcut() {
+    @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
+    public void controllerPointcut() {
 
     }
 
     @Around("controllerPointcut()")
     public Object logAroundController(ProceedingJoinPoint joinPoint) throws Throwable {
-        log.info("Request started: {}.{}() with arguments: {}",
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(),
-                Arrays.toString(joinPoint.getArgs()));
-
-        long start = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long executionTime = System.currentTimeMillis() - start;
-
-        log.info("Request completed: {}.{}() in {} ms",
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(),
-                executionTime);
-
-        return result;
+        return timers.proceed(joinPoint, log);
     }
 
-    @Around("servicePointcut()")
-    public Object logAroundService(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (log.isDebugEnabled()) {
-            log.debug("Service executing: {}.{}() with arguments: {}",
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    Arrays.toString(joinPoint.getArgs()));
-        }
-
-        long start = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long executionTime = System.currentTimeMillis() - start;
-
-        if (log.isDebugEnabled()) {
-            log.debug("Service completed: {}.{}() in {} ms",
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    executionTime);
-        }
-
-        return result;
-    }
-
-    @Around("repositoryPointcut()")
-    public Object logAroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (log.isTraceEnabled()) {
-            log.trace("Repository access: {}.{}() with arguments: {}",
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    Arrays.toString(joinPoint.getArgs()));
-        }
-
-        long start = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long executionTime = System.currentTimeMillis() - start;
-
-        if (log.isTraceEnabled()) {
-            log.trace("Repository completed: {}.{}() in {} ms",
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    executionTime);
-        }
-
-        return result;
-    }
-
-    @AfterThrowing(pointcut = "controllerPointcut() || servicePointcut() || repositoryPointcut()", throwing = "exception")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable exception) {
-        log.error("Exception in {}.{}() with cause = '{}'",
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(),
-                exception.getCause() != null ? exception.getCause() : "NULL");
-
-        if (exception.getCause() != null) {
-            log.error("Exception details: ", exception);
-        }
-    }
-}
\ No newline at end of file
+}
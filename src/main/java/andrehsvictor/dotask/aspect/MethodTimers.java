@@ -0,0 +1,94 @@
+package andrehsvictor.dotask.aspect;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times a sampled fraction of join point executions into a
+ * {@code method.execution} histogram tagged by layer, class, method and
+ * outcome. Timers are resolved once per method and cached, so the sampled path
+ * costs two {@link System#nanoTime()} calls and a map lookup.
+ */
+class MethodTimers {
+
+    private final String layer;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final double sampleRate;
+    private final ConcurrentHashMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    MethodTimers(String layer, ObjectProvider<MeterRegistry> meterRegistryProvider, double sampleRate) {
+        this.layer = layer;
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.sampleRate = sampleRate;
+    }
+
+    Object proceed(ProceedingJoinPoint joinPoint, Logger log) throws Throwable {
+        if (log.isDebugEnabled()) {
+            log.debug("{} {}.{}() with arguments: {}", layer,
+                    joinPoint.getSignature().getDeclaringTypeName(),
+                    joinPoint.getSignature().getName(),
+                    ArgumentRenderer.render(((MethodSignature) joinPoint.getSignature()).getParameterNames(),
+                            joinPoint.getArgs()));
+        }
+        if (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return joinPoint.proceed();
+        }
+
+        Timer[] methodTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                this::register);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable exception) {
+            methodTimers[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (log.isDebugEnabled()) {
+                log.debug("{} {}.{}() threw {}: {}", layer,
+                        joinPoint.getSignature().getDeclaringTypeName(),
+                        joinPoint.getSignature().getName(),
+                        exception.getClass().getSimpleName(),
+                        exception.getMessage());
+            }
+            throw exception;
+        }
+    }
+
+    private Timer[] register(Method method) {
+        return new Timer[] { register(method, "success"), register(method, "error") };
+    }
+
+    private Timer register(Method method, String outcome) {
+        return Timer.builder("method.execution")
+                .description("Execution time of sampled controller, service and repository methods")
+                .tag("layer", layer)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry());
+    }
+
+    private MeterRegistry meterRegistry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+}
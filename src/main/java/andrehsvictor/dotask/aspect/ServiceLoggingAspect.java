@@ -0,0 +1,55 @@
+package andrehsvictor.dotask.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Instruments services and repositories the same way {@link LoggingAspect}
+ * instruments controllers. Off by default: when disabled the bean does not
+ * exist, so those beans are not wrapped in an extra advice layer at all.
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "logging.aspect.service-layer.enabled", havingValue = "true")
+public class ServiceLoggingAspect {
+
+    private final MethodTimers serviceTimers;
+    private final MethodTimers repositoryTimers;
+
+    public ServiceLoggingAspect(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${logging.aspect.sample-rate}") double sampleRate) {
+        this.serviceTimers = new MethodTimers("service", meterRegistry, sampleRate);
+        this.repositoryTimers = new MethodTimers("repository", meterRegistry, sampleRate);
+    }
+
+    @Pointcut("within(@org.springframework.stereotype.Service *)")
+    public void servicePointcut() {
+
+    }
+
+    @Pointcut("within(@org.springframework.stereotype.Repository *)")
+    public void repositoryPointcut() {
+
+    }
+
+    @Around("servicePointcut()")
+    public Object logAroundService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return serviceTimers.proceed(joinPoint, log);
+    }
+
+    @Around("repositoryPointcut()")
+    public Object logAroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return repositoryTimers.proceed(joinPoint, log);
+    }
+
+}
@@ -8,6 +8,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 
+import andrehsvictor.dotask.exception.PasswordHashingBusyException;
 import andrehsvictor.dotask.exception.UnauthorizedException;
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +26,8 @@ public class AuthService {
             throw new UnauthorizedException("You should verify your email first");
         } catch (BadCredentialsException e) {
             throw new UnauthorizedException("Invalid username or password");
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (AuthenticationException e) {
             throw new UnauthorizedException("Authentication failed: " + e.getMessage());
         } catch (Exception e) {
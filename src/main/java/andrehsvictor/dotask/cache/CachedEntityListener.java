@@ -0,0 +1,31 @@
+package andrehsvictor.dotask.cache;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tells the other nodes about updates and deletes of cached entities made
+ * through Hibernate, which only invalidates the cache of the node that wrote
+ * them.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Lazy))
+public class CachedEntityListener {
+
+    private final EntityCacheService entityCacheService;
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        entityCacheService.notifyChanged(entity, false);
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        entityCacheService.notifyChanged(entity, true);
+    }
+
+}
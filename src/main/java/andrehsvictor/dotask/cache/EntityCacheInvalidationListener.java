@@ -0,0 +1,107 @@
+package andrehsvictor.dotask.cache;
+
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import andrehsvictor.dotask.notification.NotificationHandler;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies second-level cache invalidations made on other nodes through
+ * PostgreSQL LISTEN/NOTIFY. A payload of {@code node:entityName:id} drops one
+ * entity, and {@code node:entityName:id:removed} also invalidates the cached
+ * query results over the entity's table, since they may still hold the id.
+ * A payload of {@code node:entityName} drops the whole entity region together
+ * with the cached query results. Notifications sent by this node
+ * are skipped, as they were already applied locally. Every region is cleared
+ * when the listening connection is (re)established, since notifications sent
+ * in between are lost, and {@link SecondLevelCacheConfig} bypasses the cache
+ * until then.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "second-level-cache.propagation.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheInvalidationListener implements NotificationHandler {
+
+    public static final String CHANNEL = "entity_cache_invalidations";
+
+    private static final String REMOVED = "removed";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityCacheService entityCacheService;
+
+    private volatile boolean listening;
+
+    public static String toPayload(String nodeId, String entityName, Object id) {
+        return nodeId + ":" + entityName + (id != null ? ":" + id : "");
+    }
+
+    public static String toPayload(String nodeId, String entityName, Object id, boolean removed) {
+        return toPayload(nodeId, entityName, id) + (removed ? ":" + REMOVED : "");
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onConnected() {
+        cache().evictAllRegions();
+        listening = true;
+    }
+
+    @Override
+    public void onDisconnected() {
+        listening = false;
+    }
+
+    @Override
+    public void handle(String payload) {
+        String[] parts = payload.split(":", 4);
+        try {
+            if (parts[0].equals(entityCacheService.getNodeId())) {
+                return;
+            }
+            if (parts.length == 2) {
+                cache().evictEntityData(parts[1]);
+                cache().evictQueryRegions();
+                return;
+            }
+            cache().evictEntityData(parts[1], UUID.fromString(parts[2]));
+            if (parts.length == 4 && parts[3].equals(REMOVED)) {
+                invalidateQueryResults(parts[1]);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed entity cache invalidation: {}", payload);
+        }
+    }
+
+    private void invalidateQueryResults(String entityName) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityName);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            sessionFactory.getCache().getTimestampsCache().invalidate(persister.getSynchronizationSpaces(),
+                    (SharedSessionContractImplementor) session);
+        }
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+}
@@ -0,0 +1,167 @@
+package andrehsvictor.dotask.cache;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the second-level cache consistent with writes that bypass the entity
+ * lifecycle, such as counters updated with plain SQL and rows removed by
+ * database cascades. Single entries are soft-locked in the writer's
+ * transaction, exactly as Hibernate does for its own updates, so no other
+ * session can cache the old row between the write and the commit. Every
+ * change is also announced to the other nodes through
+ * {@link EntityCacheInvalidationListener}.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${second-level-cache.propagation.enabled}")
+    private boolean propagationEnabled;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Drops the cached entry once the transaction completes. Until then the
+     * entry is locked, and the next read after the commit loads the row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void evict(Class<?> entityClass, Object id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = persister(session, entityClass);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        lockUntilCompletion(session, persister, id);
+        notifyOtherNodes(EntityCacheInvalidationListener.toPayload(nodeId, persister.getEntityName(), id));
+    }
+
+    /**
+     * Drops the cached entries of rows deleted with SQL in this transaction,
+     * like {@link #evict(Class, Object)}, and also invalidates the cached
+     * query results over the entity's table, which may still hold their ids.
+     * Unlike {@link #evictAll(Class)}, the other cached entities are kept.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void evictRemoved(Class<?> entityClass, Collection<?> ids) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = persister(session, entityClass);
+        if (!persister.canWriteToCache() || ids.isEmpty()) {
+            return;
+        }
+        for (Object id : ids) {
+            lockUntilCompletion(session, persister, id);
+            notifyOtherNodes(EntityCacheInvalidationListener.toPayload(nodeId, persister.getEntityName(), id, true));
+        }
+        TimestampsCache timestampsCache = session.getFactory().getCache().getTimestampsCache();
+        String[] spaces = persister.getSynchronizationSpaces();
+        timestampsCache.preInvalidate(spaces, session);
+        session.getActionQueue().registerProcess((success, completedSession) -> timestampsCache.invalidate(
+                spaces, completedSession));
+    }
+
+    /**
+     * Caches the current state of a managed entity whose row was changed with
+     * SQL in this transaction, once the transaction commits. The entity must
+     * already hold the values that were written.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void update(Object entity) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = persister(session, entity.getClass());
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        Object id = persister.getIdentifier(entity, session);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        Object entry = persister.getCacheEntryStructure().structure(
+                persister.buildCacheEntry(entity, persister.getValues(entity), null, session));
+        SoftLock lock = access.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((success, completedSession) -> {
+            if (success) {
+                access.afterUpdate(completedSession, key, entry, null, null, lock);
+            } else {
+                access.unlockItem(completedSession, key, lock);
+            }
+        });
+        notifyOtherNodes(EntityCacheInvalidationListener.toPayload(nodeId, persister.getEntityName(), id));
+    }
+
+    /**
+     * Clears every cached entity of the type and all cached query results on
+     * every node after the transaction commits. Hibernate already does this
+     * locally for JPQL bulk statements, but neither on the other nodes nor for
+     * rows removed by database cascades.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void evictAll(Class<?> entityClass) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = persister(session, entityClass);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        SessionFactoryImplementor factory = session.getFactory();
+        notifyOtherNodes(EntityCacheInvalidationListener.toPayload(nodeId, persister.getEntityName(), null));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                factory.getCache().evictEntityData(entityClass);
+                factory.getCache().evictQueryRegions();
+            }
+        });
+    }
+
+    /**
+     * Announces a change made through the entity lifecycle, which Hibernate
+     * already applied to the local cache. Called by {@link CachedEntityListener}.
+     */
+    public void notifyChanged(Object entity, boolean removed) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = persister(session, entity.getClass());
+        Object id = persister.getIdentifier(entity, session);
+        notifyOtherNodes(EntityCacheInvalidationListener.toPayload(nodeId, persister.getEntityName(), id,
+                removed));
+    }
+
+    private void lockUntilCompletion(SessionImplementor session, EntityPersister persister, Object id) {
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = access.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((success, completedSession) -> access.unlockItem(
+                completedSession, key, lock));
+    }
+
+    private EntityPersister persister(SessionImplementor session, Class<?> entityClass) {
+        return session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+    }
+
+    private void notifyOtherNodes(String payload) {
+        if (propagationEnabled) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", EntityCacheInvalidationListener.CHANNEL, payload);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package andrehsvictor.dotask.cache;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Backs the Hibernate second-level and query caches with Caffeine through
+ * JCache. Every region is created here, bounded to
+ * {@code second-level-cache.max-entries} and expired after
+ * {@code second-level-cache.ttl}, and reported to Micrometer under
+ * {@code cache.*} tagged with its region name. The update timestamps region
+ * never expires, since a missing timestamp would let stale query results
+ * through.
+ *
+ * <p>
+ * While {@link EntityCacheInvalidationListener} is not listening, writes of
+ * other nodes go unnoticed, so every entity manager opened in that time
+ * neither reads from nor writes to the cache. Whatever was cached before is
+ * cleared once the listener is back.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PROJECT_REGION = "projects";
+    public static final String USER_REGION = "users";
+    public static final String PROJECT_QUERY_REGION = "project-queries";
+
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${second-level-cache.max-entries}")
+    private long maxEntries;
+
+    @Value("${second-level-cache.ttl}")
+    private Duration ttl;
+
+    @Bean
+    CacheManager secondLevelCacheManager() {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(PROJECT_REGION, regionConfiguration(OptionalLong.of(ttl.toNanos())));
+        cacheManager.createCache(USER_REGION, regionConfiguration(OptionalLong.of(ttl.toNanos())));
+        cacheManager.createCache(PROJECT_QUERY_REGION, regionConfiguration(OptionalLong.of(ttl.toNanos())));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, regionConfiguration(OptionalLong.of(ttl.toNanos())));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration(OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    static BeanPostProcessor secondLevelCacheBypass(
+            ObjectProvider<EntityCacheInvalidationListener> entityCacheInvalidationListener) {
+        SingletonSupplier<EntityCacheInvalidationListener> listener = SingletonSupplier
+                .ofNullable(entityCacheInvalidationListener::getIfAvailable);
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactoryBean) {
+                    entityManagerFactoryBean.setEntityManagerInitializer(entityManager -> {
+                        EntityCacheInvalidationListener current = listener.get();
+                        if (current != null && !current.isListening()) {
+                            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                        }
+                    });
+                }
+                return bean;
+            }
+
+        };
+    }
+
+    @Bean
+    MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String name : secondLevelCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = secondLevelCacheManager.getCache(name);
+                CaffeineCacheMetrics.monitor(registry,
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), name);
+            }
+        };
+    }
+
+    /**
+     * Entries are stored by reference: Hibernate caches disassembled state
+     * that it never mutates, so copying it on every read and write would only
+     * cost allocations.
+     */
+    private CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong expireAfterWriteNanos) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxEntries))
+                .setExpireAfterWrite(expireAfterWriteNanos)
+                .setStoreByValue(false)
+                .setNativeStatisticsEnabled(true);
+    }
+
+}
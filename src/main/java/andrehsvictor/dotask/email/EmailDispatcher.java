@@ -0,0 +1,213 @@
+package andrehsvictor.dotask.email;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the email outbox on a single background thread. Each batch is leased
+ * in a short transaction with {@code FOR UPDATE SKIP LOCKED}, so several nodes
+ * can dispatch concurrently, and is then sent over one SMTP connection with no
+ * transaction or database connection held. A second short transaction deletes
+ * the sent messages. Failed messages are retried with exponential backoff and
+ * dead-lettered after the configured number of attempts.
+ *
+ * <p>
+ * The outbox size gauges read counts kept in memory and refreshed after each
+ * drain, so metric scrapes never reach the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailDispatcher implements MeterBinder {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${email.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff}")
+    private Duration initialBackoff;
+
+    @Value("${email.outbox.max-backoff}")
+    private Duration maxBackoff;
+
+    @Value("${email.outbox.lease}")
+    private Duration lease;
+
+    private final AtomicLongArray sizes = new AtomicLongArray(OutboxEmailStatus.values().length);
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("email-dispatcher").daemon().factory());
+
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval}", initialDelayString = "${email.outbox.poll-interval}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (OutboxEmailStatus status : OutboxEmailStatus.values()) {
+            Gauge.builder("email.outbox.size", sizes, counts -> counts.get(status.ordinal()))
+                    .description("Emails waiting in the outbox")
+                    .tag("status", status.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public int dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> emails = transactionTemplate.execute(
+                status -> outboxEmailRepository.claimAllDue(now, now.plus(lease), batchSize));
+        if (emails == null || emails.isEmpty()) {
+            return 0;
+        }
+        Map<Object, Exception> failures = send(emails);
+
+        List<OutboxEmail> sent = new ArrayList<>(emails.size());
+        List<OutboxEmail> failed = new ArrayList<>(failures.size());
+        for (OutboxEmail email : emails) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                sent.add(email);
+            } else {
+                markFailed(email, failure);
+                failed.add(email);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEmailRepository.deleteAllInBatch(sent);
+            outboxEmailRepository.saveAll(failed);
+        });
+        countDeliveries("sent", sent.size());
+        return emails.size();
+    }
+
+    private void drain() {
+        wakeUpPending.set(false);
+        try {
+            int processed;
+            do {
+                processed = dispatch();
+            } while (processed == batchSize);
+            refreshSizes();
+        } catch (RuntimeException e) {
+            log.error("Email dispatcher failed, retrying on next poll", e);
+        }
+    }
+
+    private void refreshSizes() {
+        for (OutboxEmailStatus status : OutboxEmailStatus.values()) {
+            sizes.set(status.ordinal(), outboxEmailRepository.countByStatus(status));
+        }
+    }
+
+    private Map<Object, Exception> send(List<OutboxEmail> emails) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxEmail> messages = new IdentityHashMap<>();
+        for (OutboxEmail email : emails) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                messages.values().forEach(email -> failures.put(email, e));
+            } else {
+                failedMessages.forEach((message, failure) -> failures.put(messages.get(message), failure));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(email -> failures.put(email, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private void markFailed(OutboxEmail email, Exception failure) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(failure.getMessage());
+        if (attempts >= maxAttempts) {
+            email.setStatus(OutboxEmailStatus.DEAD);
+            countDeliveries("dead", 1);
+            log.error("Email {} dead-lettered after {} attempts: {}", email.getId(), attempts,
+                    failure.getMessage());
+            return;
+        }
+        email.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        countDeliveries("retry", 1);
+        log.warn("Email {} failed on attempt {}, retrying at {}: {}", email.getId(), attempts,
+                email.getNextAttemptAt(), failure.getMessage());
+    }
+
+    private void countDeliveries(String result, int count) {
+        if (count > 0) {
+            meterRegistry.counter("email.outbox.deliveries", "result", result).increment(count);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+}
@@ -1,29 +1,37 @@
 package andrehsvictor.dotask.email;
 
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailDispatcher emailDispatcher;
 
+    /**
+     * Queues the email in the outbox as part of the caller's transaction. The
+     * dispatcher is woken up once that transaction commits.
+     */
+    @Transactional
     public void send(String to, String subject, String body) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-            mailSender.send(message);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to send email", e);
-        }
+        outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailDispatcher.wakeUp();
+            }
+        });
     }
 
 }
@@ -0,0 +1,57 @@
+package andrehsvictor.dotask.email;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "email_outbox")
+public class OutboxEmail implements Serializable {
+
+    private static final long serialVersionUID = 3127409817529651205L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private String recipient;
+    private String subject;
+    private String body;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    private OutboxEmailStatus status = OutboxEmailStatus.PENDING;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    private String lastError;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+
+}
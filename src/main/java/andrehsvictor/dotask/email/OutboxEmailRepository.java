@@ -0,0 +1,35 @@
+package andrehsvictor.dotask.email;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, UUID> {
+
+    /**
+     * Claims the due emails by pushing their next attempt past the lease, so
+     * they can be sent after the claiming transaction commits without another
+     * dispatcher picking them up. Emails whose sender dies mid-batch become due
+     * again once the lease runs out.
+     */
+    @Query(value = """
+            UPDATE email_outbox
+            SET next_attempt_at = :leasedUntil
+            WHERE id IN (
+                SELECT id FROM email_outbox
+                WHERE status = 'PENDING'
+                AND next_attempt_at <= :now
+                ORDER BY next_attempt_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<OutboxEmail> claimAllDue(LocalDateTime now, LocalDateTime leasedUntil, int limit);
+
+    long countByStatus(OutboxEmailStatus status);
+
+}
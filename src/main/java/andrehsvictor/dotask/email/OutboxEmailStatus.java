@@ -0,0 +1,5 @@
+package andrehsvictor.dotask.email;
+
+public enum OutboxEmailStatus {
+    PENDING, DEAD
+}
@@ -0,0 +1,120 @@
+package andrehsvictor.dotask.etag;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Node-local copy of the per-user collection versions. Versions only move
+ * forward, so concurrent updates from commits, notifications and database
+ * reads are merged by keeping the highest one. A value read from the
+ * database is discarded if the index was cleared while it was in flight,
+ * since a notification it raced with may have been cleared along with it.
+ */
+@Component
+public class CollectionVersionIndex implements MeterBinder {
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile long generation;
+    private volatile boolean synchronizedWithCluster;
+
+    @Value("${collection-version.index.max-entries}")
+    private int maxEntries;
+
+    public OptionalLong get(UUID userId) {
+        Long version = synchronizedWithCluster ? versions.get(userId) : null;
+        if (version == null) {
+            misses.increment();
+            return OptionalLong.empty();
+        }
+        hits.increment();
+        return OptionalLong.of(version);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public void advance(UUID userId, long version) {
+        advance(userId, version, -1);
+    }
+
+    /**
+     * Records a version read from the database before {@code generation} was
+     * taken, unless the index has been cleared since.
+     */
+    public void load(UUID userId, long version, long generation) {
+        advance(userId, version, generation);
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            versions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether writes from every node are known to reach this index. Only then
+     * may a version be answered from memory instead of the database.
+     */
+    public boolean isSynchronizedWithCluster() {
+        return synchronizedWithCluster;
+    }
+
+    public void setSynchronizedWithCluster(boolean synchronizedWithCluster) {
+        this.synchronizedWithCluster = synchronizedWithCluster;
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("collection.versions.index.lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Collection version lookups answered from memory")
+                .register(registry);
+        FunctionCounter.builder("collection.versions.index.lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Collection version lookups that fell through to the database")
+                .register(registry);
+        Gauge.builder("collection.versions.index.size", this, CollectionVersionIndex::size)
+                .description("Users whose collection version is held in the index")
+                .register(registry);
+    }
+
+    private void advance(UUID userId, long version, long expectedGeneration) {
+        if (versions.size() >= maxEntries && !versions.containsKey(userId)) {
+            clear();
+        }
+        lock.readLock().lock();
+        try {
+            if (expectedGeneration < 0 || expectedGeneration == generation) {
+                versions.merge(userId, version, Math::max);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+}
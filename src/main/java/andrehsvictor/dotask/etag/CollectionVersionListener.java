@@ -0,0 +1,61 @@
+package andrehsvictor.dotask.etag;
+
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import andrehsvictor.dotask.notification.NotificationHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the local {@link CollectionVersionIndex} in step with writes made on
+ * other nodes through PostgreSQL LISTEN/NOTIFY. Notifications are delivered
+ * on commit, so a version never reaches the index before its data is
+ * visible. The index is cleared every time the listening connection is
+ * (re)established, since notifications sent in between are lost.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "collection-version.propagation.enabled", havingValue = "true", matchIfMissing = true)
+public class CollectionVersionListener implements NotificationHandler {
+
+    public static final String CHANNEL = "collection_versions";
+
+    private final CollectionVersionIndex collectionVersionIndex;
+
+    public static String toPayload(UUID userId, long version) {
+        return userId + ":" + version;
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onConnected() {
+        collectionVersionIndex.clear();
+        collectionVersionIndex.setSynchronizedWithCluster(true);
+    }
+
+    @Override
+    public void onDisconnected() {
+        collectionVersionIndex.setSynchronizedWithCluster(false);
+    }
+
+    @Override
+    public void handle(String payload) {
+        int separator = payload.indexOf(':');
+        try {
+            UUID userId = UUID.fromString(payload.substring(0, separator));
+            long version = Long.parseLong(payload.substring(separator + 1));
+            collectionVersionIndex.advance(userId, version);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed collection version notification: {}", payload);
+        }
+    }
+
+}
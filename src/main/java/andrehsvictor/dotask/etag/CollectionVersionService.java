@@ -0,0 +1,115 @@
+package andrehsvictor.dotask.etag;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tracks a per-user version of the task and project collections. Every write
+ * to either bumps it in the writer's transaction, so list responses can be
+ * revalidated with a weak ETag derived from the version and the request
+ * instead of running the search query again.
+ */
+@Service
+@RequiredArgsConstructor
+public class CollectionVersionService {
+
+    private static final String BUMP = """
+            INSERT INTO collection_versions AS v (user_id, version)
+            VALUES (?, 1)
+            ON CONFLICT (user_id) DO UPDATE SET version = v.version + 1
+            RETURNING version
+            """;
+
+    private static final String FIND = "SELECT version FROM collection_versions WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CollectionVersionIndex collectionVersionIndex;
+
+    /**
+     * Increments the user's version. Every write transaction calls this before
+     * it touches any project, task or statistics row, so concurrent writers of
+     * the same user queue on the version row and always take the other row
+     * locks in the same order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(UUID userId) {
+        long version = jdbcTemplate.queryForObject(BUMP, Long.class, userId);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)",
+                CollectionVersionListener.CHANNEL,
+                CollectionVersionListener.toPayload(userId, version));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                collectionVersionIndex.advance(userId, version);
+            }
+        });
+    }
+
+    public long findVersion(UUID userId) {
+        OptionalLong cached = collectionVersionIndex.get(userId);
+        if (cached.isPresent()) {
+            return cached.getAsLong();
+        }
+        long generation = collectionVersionIndex.generation();
+        List<Long> versions = jdbcTemplate.queryForList(FIND, Long.class, userId);
+        long version = versions.isEmpty() ? 0 : versions.get(0);
+        if (collectionVersionIndex.isSynchronizedWithCluster()) {
+            collectionVersionIndex.load(userId, version, generation);
+        }
+        return version;
+    }
+
+    /**
+     * Answers the request with 304 if the user's collections have not changed
+     * since the ETag the client sent for the same path and query parameters.
+     * Otherwise the ETag is set on the response and the caller renders it.
+     */
+    public boolean checkNotModified(UUID userId, WebRequest webRequest) {
+        long version = findVersion(userId);
+        return webRequest.checkNotModified(eTag(userId, version, webRequest));
+    }
+
+    private String eTag(UUID userId, long version, WebRequest webRequest) {
+        MessageDigest digest = sha256();
+        update(digest, userId.toString());
+        update(digest, webRequest.getDescription(false));
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(webRequest.getParameterMap()).entrySet()) {
+            update(digest, parameter.getKey());
+            update(digest, Arrays.toString(parameter.getValue()));
+        }
+        byte[] hash = Arrays.copyOf(digest.digest(), 16);
+        return "W/\"" + Long.toHexString(version) + '-' + HexFormat.of().formatHex(hash) + '"';
+    }
+
+    private void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
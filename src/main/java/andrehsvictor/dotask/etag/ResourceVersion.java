@@ -0,0 +1,55 @@
+package andrehsvictor.dotask.etag;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Validators for a single resource: a strong ETag derived from its ID and
+ * modification timestamps, and the Last-Modified instant. A resource whose
+ * representation embeds another one (a task and its project) passes both
+ * timestamps, so a change to either yields a new ETag.
+ */
+public record ResourceVersion(String eTag, Instant lastModified) {
+
+    public ResourceVersion(UUID id, LocalDateTime updatedAt) {
+        this(id, updatedAt, null);
+    }
+
+    public ResourceVersion(UUID id, LocalDateTime updatedAt, LocalDateTime embeddedUpdatedAt) {
+        this(eTag(id, updatedAt, embeddedUpdatedAt), latest(updatedAt, embeddedUpdatedAt));
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified.toEpochMilli();
+    }
+
+    private static String eTag(UUID id, LocalDateTime updatedAt, LocalDateTime embeddedUpdatedAt) {
+        StringBuilder eTag = new StringBuilder(64).append('"').append(id).append('-')
+                .append(Long.toHexString(toEpochMicros(updatedAt)));
+        if (embeddedUpdatedAt != null) {
+            eTag.append('-').append(Long.toHexString(toEpochMicros(embeddedUpdatedAt)));
+        }
+        return eTag.append('"').toString();
+    }
+
+    private static Instant latest(LocalDateTime updatedAt, LocalDateTime embeddedUpdatedAt) {
+        Instant lastModified = toInstant(updatedAt);
+        if (embeddedUpdatedAt == null) {
+            return lastModified;
+        }
+        Instant embeddedLastModified = toInstant(embeddedUpdatedAt);
+        return embeddedLastModified.isAfter(lastModified) ? embeddedLastModified : lastModified;
+    }
+
+    private static long toEpochMicros(LocalDateTime localDateTime) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, toInstant(localDateTime));
+    }
+
+    private static Instant toInstant(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+}
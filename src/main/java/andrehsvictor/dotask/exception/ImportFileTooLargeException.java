@@ -0,0 +1,16 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class ImportFileTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 8829610143218675093L;
+
+    public ImportFileTooLargeException(DataSize maxFileSize) {
+        super("Import file must not be larger than " + maxFileSize.toMegabytes() + "MB");
+    }
+
+}
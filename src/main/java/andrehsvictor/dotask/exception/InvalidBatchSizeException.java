@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBatchSizeException extends RuntimeException {
+
+    private static final long serialVersionUID = -4417262095836318251L;
+
+    public InvalidBatchSizeException(int maxSize) {
+        super("Batch must contain between 1 and " + maxSize + " items");
+    }
+
+}
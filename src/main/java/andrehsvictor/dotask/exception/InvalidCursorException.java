@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 2871635418903217540L;
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+
+}
@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 2385170938641296512L;
+
+    public PasswordHashingBusyException() {
+        super("Too many password operations in progress, please try again shortly");
+    }
+
+}
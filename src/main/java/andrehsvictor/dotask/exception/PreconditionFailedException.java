@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 6120485301927734318L;
+
+    public PreconditionFailedException(Class<?> resourceClass) {
+        super(resourceClass.getSimpleName() + " changed since the given ETag or date");
+    }
+
+}
@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TaskExportBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = -6180294417736205513L;
+
+    public TaskExportBusyException() {
+        super("Too many exports in progress, please try again later");
+    }
+
+}
@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TaskImportBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 4417362583901846205L;
+
+    public TaskImportBusyException() {
+        super("Too many imports in progress, please try again later");
+    }
+
+}
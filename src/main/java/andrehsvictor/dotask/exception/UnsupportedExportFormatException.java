@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 6018326460937251764L;
+
+    public UnsupportedExportFormatException(String format) {
+        super("Unsupported export format: " + format);
+    }
+
+}
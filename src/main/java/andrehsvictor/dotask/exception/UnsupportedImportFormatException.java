@@ -0,0 +1,15 @@
+package andrehsvictor.dotask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedImportFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = -4471902335196384410L;
+
+    public UnsupportedImportFormatException(String format) {
+        super("Unsupported import format: " + format);
+    }
+
+}
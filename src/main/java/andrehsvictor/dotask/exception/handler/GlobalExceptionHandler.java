@@ -13,10 +13,19 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import andrehsvictor.dotask.exception.EmailAlreadyExistsException;
 import andrehsvictor.dotask.exception.EmailAlreadyVerfiedException;
+import andrehsvictor.dotask.exception.ImportFileTooLargeException;
+import andrehsvictor.dotask.exception.InvalidBatchSizeException;
+import andrehsvictor.dotask.exception.InvalidCursorException;
 import andrehsvictor.dotask.exception.InvalidJwtTypeException;
+import andrehsvictor.dotask.exception.PasswordHashingBusyException;
+import andrehsvictor.dotask.exception.PreconditionFailedException;
 import andrehsvictor.dotask.exception.ResourceNotFoundException;
+import andrehsvictor.dotask.exception.TaskExportBusyException;
+import andrehsvictor.dotask.exception.TaskImportBusyException;
 import andrehsvictor.dotask.exception.TokenExpiredException;
 import andrehsvictor.dotask.exception.UnauthorizedException;
+import andrehsvictor.dotask.exception.UnsupportedExportFormatException;
+import andrehsvictor.dotask.exception.UnsupportedImportFormatException;
 import andrehsvictor.dotask.exception.dto.ErrorDto;
 import andrehsvictor.dotask.exception.dto.FieldErrorDto;
 import lombok.extern.slf4j.Slf4j;
@@ -82,6 +91,83 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(errorDto);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public final ResponseEntity<ErrorDto<String>> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    public final ResponseEntity<ErrorDto<String>> handleInvalidBatchSizeException(InvalidBatchSizeException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public final ResponseEntity<ErrorDto<String>> handleUnsupportedExportFormatException(
+            UnsupportedExportFormatException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(UnsupportedImportFormatException.class)
+    public final ResponseEntity<ErrorDto<String>> handleUnsupportedImportFormatException(
+            UnsupportedImportFormatException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(ImportFileTooLargeException.class)
+    public final ResponseEntity<ErrorDto<String>> handleImportFileTooLargeException(ImportFileTooLargeException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(TaskExportBusyException.class)
+    public final ResponseEntity<ErrorDto<String>> handleTaskExportBusyException(TaskExportBusyException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(TaskImportBusyException.class)
+    public final ResponseEntity<ErrorDto<String>> handleTaskImportBusyException(TaskImportBusyException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public final ResponseEntity<ErrorDto<String>> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public final ResponseEntity<ErrorDto<String>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(errorDto);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public final ResponseEntity<ErrorDto<String>> handleUnauthorizedException(UnauthorizedException ex) {
         ErrorDto<String> errorDto = ErrorDto.of(ex.getMessage());
@@ -0,0 +1,48 @@
+package andrehsvictor.dotask.jwt;
+
+import java.util.UUID;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.stereotype.Component;
+
+import andrehsvictor.dotask.exception.InvalidJwtTypeException;
+import andrehsvictor.dotask.exception.UnauthorizedException;
+import andrehsvictor.dotask.security.CurrentUser;
+import andrehsvictor.dotask.security.CurrentUserAuthenticationToken;
+
+/**
+ * Converts the bearer token already decoded by the resource server into an
+ * authentication, rejecting anything that is not an access token. Running the
+ * type check here keeps signature verification and the revocation lookup to a
+ * single pass per request, and the subject is parsed into a {@link CurrentUser}
+ * principal once instead of on every service call.
+ */
+@Component
+public class AccessJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        if (!"access".equals(jwt.getClaimAsString("type"))) {
+            throw new InvalidJwtTypeException("Token must be an access token");
+        }
+        CurrentUser currentUser = new CurrentUser(parseSubject(jwt.getSubject()), JwtType.ACCESS);
+        return new CurrentUserAuthenticationToken(jwt, currentUser, authoritiesConverter.convert(jwt));
+    }
+
+    private UUID parseSubject(String subject) {
+        if (subject == null || subject.isBlank()) {
+            throw new UnauthorizedException("JWT missing subject claim");
+        }
+        try {
+            return UUID.fromString(subject);
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid subject format - must be UUID");
+        }
+    }
+
+}
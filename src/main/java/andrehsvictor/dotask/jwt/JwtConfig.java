@@ -24,6 +24,7 @@ import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 
@@ -43,10 +44,10 @@ public class JwtConfig {
     private final List<OAuth2TokenValidator<Jwt>> jwtValidators;
 
     @Bean
-    JwtDecoder jwtDecoder() {
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
         jwtDecoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(jwtValidators));
-        return jwtDecoder;
+        return new TimedJwtDecoder(jwtDecoder, meterRegistry);
     }
 
     @Bean
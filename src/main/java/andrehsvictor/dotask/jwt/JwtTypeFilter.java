@@ -1,41 +0,0 @@
-package andrehsvictor.dotask.jwt;
-
-import java.io.IOException;
-
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
-
-@Component
-@RequiredArgsConstructor
-public class JwtTypeFilter extends OncePerRequestFilter {
-
-    private final JwtService jwtService;
-    private static final String BEARER_PREFIX = "Bearer ";
-
-    @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
-            String token = authHeader.substring(BEARER_PREFIX.length());
-            Jwt jwt = jwtService.decode(token);
-
-            if (!"access".equals(jwt.getClaimAsString("type"))) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("");
-                return;
-            }
-        }
-
-        filterChain.doFilter(request, response);
-    }
-}
\ No newline at end of file
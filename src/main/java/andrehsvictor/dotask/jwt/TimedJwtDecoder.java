@@ -0,0 +1,49 @@
+package andrehsvictor.dotask.jwt;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how long decoding takes, including signature verification and every
+ * registered validator, split by outcome.
+ */
+public class TimedJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Timer success;
+    private final Timer failure;
+
+    public TimedJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.success = timer(meterRegistry, "success");
+        this.failure = timer(meterRegistry, "failure");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (RuntimeException e) {
+            failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.decode")
+                .description("Time to decode and validate a JWT")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+}
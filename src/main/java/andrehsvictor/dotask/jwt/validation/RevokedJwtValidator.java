@@ -1,5 +1,7 @@
 package andrehsvictor.dotask.jwt.validation;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
@@ -8,20 +10,33 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
 import andrehsvictor.dotask.revokedtoken.RevokedTokenService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
-@RequiredArgsConstructor
 public class RevokedJwtValidator implements OAuth2TokenValidator<Jwt> {
 
+    private static final OAuth2Error REVOKED = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
+            "The token has been revoked", null);
+
     private final RevokedTokenService revokedTokenService;
+    private final Timer timer;
+
+    public RevokedJwtValidator(RevokedTokenService revokedTokenService, MeterRegistry meterRegistry) {
+        this.revokedTokenService = revokedTokenService;
+        this.timer = Timer.builder("jwt.validation.revocation")
+                .description("Time to check whether a JWT has been revoked")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     @Override
     public OAuth2TokenValidatorResult validate(Jwt token) {
-        OAuth2Error error = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
-                "The token has been revoked", null);
-        if (revokedTokenService.isRevoked(token)) {
-            return OAuth2TokenValidatorResult.failure(error);
+        long start = System.nanoTime();
+        boolean revoked = revokedTokenService.isRevoked(token);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (revoked) {
+            return OAuth2TokenValidatorResult.failure(REVOKED);
         }
         return OAuth2TokenValidatorResult.success();
     }
@@ -0,0 +1,43 @@
+package andrehsvictor.dotask.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer statementCountInspectorCustomizer(StatementCountInspector statementCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCountInspector);
+    }
+
+    /**
+     * Actuator endpoints are served on {@code management.server.port}, which is
+     * not published alongside the API. Only health and the Prometheus scrape
+     * endpoint are reachable there, without a bearer token.
+     */
+    @Bean
+    @Order(1)
+    SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                        .permitAll()
+                        .anyRequest().denyAll())
+                .build();
+    }
+
+}
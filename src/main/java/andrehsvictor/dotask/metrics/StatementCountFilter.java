@@ -0,0 +1,52 @@
+package andrehsvictor.dotask.metrics;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records how many SQL statements each request issued, tagged with the same
+ * {@code method} and {@code uri} template as {@code http.server.requests}.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final StatementCountInspector statementCountInspector;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCountInspector.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.statements")
+                    .description("SQL statements prepared while serving a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? UNKNOWN_URI : pattern.toString())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package andrehsvictor.dotask.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. Registered as the session factory's statement inspector.
+ */
+@Component
+public class StatementCountInspector implements StatementInspector {
+
+    private static final long serialVersionUID = -2214093413018627011L;
+
+    private final transient ThreadLocal<int[]> counts = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counts.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        counts.set(new int[1]);
+    }
+
+    public int stop() {
+        int[] count = counts.get();
+        counts.remove();
+        return count == null ? 0 : count[0];
+    }
+
+}
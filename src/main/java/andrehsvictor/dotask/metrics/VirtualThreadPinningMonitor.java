@@ -0,0 +1,96 @@
+package andrehsvictor.dotask.metrics;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events, which the JVM emits when
+ * a virtual thread blocks while holding a monitor or inside native code and
+ * therefore keeps its carrier thread. Every event is recorded in the
+ * {@code jvm.threads.virtual.pinned} timer; each distinct stack trace is
+ * logged once so the offending {@code synchronized} block can be found.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOGGED_FRAMES = 12;
+    private static final int MAX_REPORTED_STACKS = 1000;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning-monitor.threshold}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(EVENT_NAME, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started with a {} threshold", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public long pinnedCount() {
+        return pinned.count();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String stack = render(event.getStackTrace());
+        if (reportedStacks.size() < MAX_REPORTED_STACKS && reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned its carrier for {} ms:{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private String render(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(MAX_LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::render)
+                .collect(Collectors.joining());
+    }
+
+    private static String render(RecordedFrame frame) {
+        return "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+
+}
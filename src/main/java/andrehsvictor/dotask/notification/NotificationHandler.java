@@ -0,0 +1,24 @@
+package andrehsvictor.dotask.notification;
+
+/**
+ * Applies the notifications of one PostgreSQL channel, delivered by
+ * {@link PostgresNotificationListener}. Notifications sent while the
+ * listening connection is down are lost, so a handler must not trust its
+ * local state between {@link #onDisconnected()} and the next
+ * {@link #onConnected()}.
+ */
+public interface NotificationHandler {
+
+    String channel();
+
+    /**
+     * Called once the channel is listened to again, before any notification
+     * is delivered, to resynchronise whatever was missed in between.
+     */
+    void onConnected();
+
+    void onDisconnected();
+
+    void handle(String payload);
+
+}
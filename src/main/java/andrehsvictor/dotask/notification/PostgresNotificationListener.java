@@ -0,0 +1,188 @@
+package andrehsvictor.dotask.notification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listens to the channels of every {@link NotificationHandler} over one
+ * dedicated PostgreSQL connection and hands each notification to the handler
+ * of its channel. An idle connection is probed every liveness interval, and
+ * reads time out after it too, so a silently dropped connection is noticed
+ * within two intervals. Handlers are told whenever the connection goes down
+ * and once it is listening again.
+ */
+@Slf4j
+@Component
+public class PostgresNotificationListener {
+
+    public static final String APPLICATION_NAME = "dotask-notification-listener";
+
+    private final Map<String, NotificationHandler> handlers;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${notification-listener.poll-timeout}")
+    private Duration pollTimeout;
+
+    @Value("${notification-listener.reconnect-delay}")
+    private Duration reconnectDelay;
+
+    @Value("${notification-listener.liveness-interval}")
+    private Duration livenessInterval;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public PostgresNotificationListener(ObjectProvider<NotificationHandler> handlers,
+            DataSourceProperties dataSourceProperties) {
+        this.handlers = handlers.orderedStream()
+                .collect(Collectors.toUnmodifiableMap(NotificationHandler::channel, Function.identity()));
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("postgres-notification-listener")
+                .daemon()
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        disconnected();
+        if (thread != null) {
+            thread.interrupt();
+        }
+        closeQuietly(connection);
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection listenConnection = openConnection()) {
+                connection = listenConnection;
+                listen(listenConnection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Notification listener disconnected, retrying in {}: {}", reconnectDelay,
+                            e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.error("Notification listener failed, retrying in {}", reconnectDelay, e);
+            } finally {
+                disconnected();
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void listen(Connection listenConnection) throws SQLException {
+        try (Statement statement = listenConnection.createStatement()) {
+            for (String channel : handlers.keySet()) {
+                statement.execute("LISTEN " + channel);
+            }
+        }
+        handlers.values().forEach(NotificationHandler::onConnected);
+
+        PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+        int timeoutMillis = (int) pollTimeout.toMillis();
+        long nextProbe = System.nanoTime() + livenessInterval.toNanos();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    dispatch(notification);
+                }
+            }
+            if (System.nanoTime() - nextProbe >= 0) {
+                probe(listenConnection);
+                nextProbe = System.nanoTime() + livenessInterval.toNanos();
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        NotificationHandler handler = handlers.get(notification.getName());
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.handle(notification.getParameter());
+        } catch (RuntimeException e) {
+            log.warn("Failed to handle notification on {}: {}", notification.getName(),
+                    notification.getParameter(), e);
+        }
+    }
+
+    private void probe(Connection listenConnection) throws SQLException {
+        try (Statement statement = listenConnection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    private void disconnected() {
+        for (NotificationHandler handler : handlers.values()) {
+            try {
+                handler.onDisconnected();
+            } catch (RuntimeException e) {
+                log.warn("Failed to disconnect notification handler of {}", handler.channel(), e);
+            }
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        properties.setProperty("socketTimeout", String.valueOf(Math.max(1, livenessInterval.toSeconds())));
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void closeQuietly(Connection connectionToClose) {
+        if (connectionToClose == null) {
+            return;
+        }
+        try {
+            connectionToClose.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close notification listener connection", e);
+        }
+    }
+}
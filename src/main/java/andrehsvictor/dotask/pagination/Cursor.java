@@ -0,0 +1,39 @@
+package andrehsvictor.dotask.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import andrehsvictor.dotask.exception.InvalidCursorException;
+
+/**
+ * Opaque keyset position: the sort key and ID of the last row a client has
+ * seen. Rows are ordered by {@code (createdAt DESC, id DESC)}.
+ */
+public record Cursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new Cursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(value);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,43 @@
+package andrehsvictor.dotask.pagination.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import andrehsvictor.dotask.pagination.Cursor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra
+     * row only signals that another page exists.
+     */
+    public static <T> CursorPageDto<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return CursorPageDto.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        return CursorPageDto.<R>builder()
+                .content(content.stream().<R>map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -2,10 +2,20 @@ package andrehsvictor.dotask.project;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import andrehsvictor.dotask.cache.CachedEntityListener;
+import andrehsvictor.dotask.cache.SecondLevelCacheConfig;
 import andrehsvictor.dotask.user.User;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -25,6 +35,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECT_REGION)
+@EntityListeners(CachedEntityListener.class)
 public class Project implements Serializable {
 
     private static final long serialVersionUID = 3657625015506370387L;
@@ -39,11 +52,12 @@ public class Project implements Serializable {
     @Builder.Default
     private String color = "#538083";
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     @Builder.Default
+    @Column(insertable = false, updatable = false)
     private Integer taskCount = 0;
 
     private LocalDateTime createdAt;
@@ -51,12 +65,12 @@ public class Project implements Serializable {
 
     @PrePersist
     protected void prePersist() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     @PreUpdate
     protected void preUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
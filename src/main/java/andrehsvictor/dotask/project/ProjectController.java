@@ -14,10 +14,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import andrehsvictor.dotask.etag.CollectionVersionService;
+import andrehsvictor.dotask.etag.ResourceVersion;
 import andrehsvictor.dotask.project.dto.GetProjectDto;
 import andrehsvictor.dotask.project.dto.PostProjectDto;
 import andrehsvictor.dotask.project.dto.PutProjectDto;
+import andrehsvictor.dotask.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -34,19 +38,29 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Projects", description = "API for project management")
 public class ProjectController {
 
+    private static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
     private final ProjectService projectService;
+    private final CollectionVersionService collectionVersionService;
 
     @Operation(summary = "Find all projects", description = "Retrieves all projects for the authenticated user with optional filtering")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Projects retrieved successfully", content = @Content(schema = @Schema(implementation = GetProjectDto.class))),
+            @ApiResponse(responseCode = "304", description = "Projects not modified since the given ETag"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/api/v1/projects")
     public ResponseEntity<Page<GetProjectDto>> findAll(
+            CurrentUser currentUser,
             @Parameter(description = "Search query to filter projects by name or description") @RequestParam(value = "q", required = false) String query,
-            Pageable pageable) {
-        Page<GetProjectDto> projects = projectService.findAll(query, pageable)
+            @Parameter(description = "Order projects by how closely they match the search query") @RequestParam(value = "rank", defaultValue = "false") boolean rank,
+            Pageable pageable,
+            WebRequest webRequest) {
+        if (collectionVersionService.checkNotModified(currentUser.id(), webRequest)) {
+            return null;
+        }
+        Page<GetProjectDto> projects = projectService.findAll(currentUser.id(), query, rank, pageable)
                 .map(projectService::toDto);
         return ResponseEntity.ok(projects);
     }
@@ -54,14 +68,21 @@ public class ProjectController {
     @Operation(summary = "Find project by ID", description = "Retrieves a specific project by its ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project retrieved successfully", content = @Content(schema = @Schema(implementation = GetProjectDto.class))),
+            @ApiResponse(responseCode = "304", description = "Project not modified since the given ETag or date"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/api/v1/projects/{id}")
     public ResponseEntity<GetProjectDto> findById(
-            @Parameter(description = "Project ID to retrieve") @PathVariable UUID id) {
-        GetProjectDto project = projectService.toDto(projectService.findById(id));
+            CurrentUser currentUser,
+            @Parameter(description = "Project ID to retrieve") @PathVariable UUID id,
+            WebRequest webRequest) {
+        ResourceVersion version = projectService.findVersion(currentUser.id(), id);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        GetProjectDto project = projectService.toDto(projectService.findById(currentUser.id(), id));
         return ResponseEntity.ok(project);
     }
 
@@ -74,8 +95,9 @@ public class ProjectController {
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/api/v1/projects")
     public ResponseEntity<GetProjectDto> create(
+            CurrentUser currentUser,
             @Parameter(description = "Project data") @Valid @RequestBody PostProjectDto postProjectDto) {
-        GetProjectDto project = projectService.toDto(projectService.create(postProjectDto));
+        GetProjectDto project = projectService.toDto(projectService.create(currentUser.id(), postProjectDto));
         return ResponseEntity.status(201).body(project);
     }
 
@@ -84,15 +106,23 @@ public class ProjectController {
             @ApiResponse(responseCode = "200", description = "Project updated successfully", content = @Content(schema = @Schema(implementation = GetProjectDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid project data"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
-            @ApiResponse(responseCode = "404", description = "Project not found")
+            @ApiResponse(responseCode = "404", description = "Project not found"),
+            @ApiResponse(responseCode = "412", description = "Project changed since the ETag given in If-Match")
     })
     @SecurityRequirement(name = "bearerAuth")
     @PutMapping("/api/v1/projects/{id}")
     public ResponseEntity<GetProjectDto> update(
+            CurrentUser currentUser,
             @Parameter(description = "Project ID to update") @PathVariable UUID id,
-            @Parameter(description = "Updated project data") @Valid @RequestBody PutProjectDto putProjectDto) {
-        GetProjectDto project = projectService.toDto(projectService.update(id, putProjectDto));
-        return ResponseEntity.ok(project);
+            @Parameter(description = "Updated project data") @Valid @RequestBody PutProjectDto putProjectDto,
+            WebRequest webRequest) {
+        Project updated = projectService.update(currentUser.id(), id, putProjectDto,
+                current -> !webRequest.checkNotModified(current.eTag(), current.lastModifiedMillis()));
+        ResourceVersion version = projectService.versionOf(updated);
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .body(projectService.toDto(updated));
     }
 
     @Operation(summary = "Delete project", description = "Deletes a project and all its associated tasks")
@@ -104,8 +134,9 @@ public class ProjectController {
     @SecurityRequirement(name = "bearerAuth")
     @DeleteMapping("/api/v1/projects/{id}")
     public ResponseEntity<Void> delete(
+            CurrentUser currentUser,
             @Parameter(description = "Project ID to delete") @PathVariable UUID id) {
-        projectService.delete(id);
+        projectService.delete(currentUser.id(), id);
         return ResponseEntity.noContent().build();
     }
 
@@ -118,8 +149,11 @@ public class ProjectController {
     @SecurityRequirement(name = "bearerAuth")
     @DeleteMapping("/api/v1/projects")
     public ResponseEntity<Void> deleteAllByIdIn(
+            CurrentUser currentUser,
             @Parameter(description = "Collection of project IDs to delete") @RequestBody Collection<UUID> ids) {
-        projectService.deleteAllByIdIn(ids);
-        return ResponseEntity.noContent().build();
+        int deleted = projectService.deleteAllByIdIn(currentUser.id(), ids);
+        return ResponseEntity.noContent()
+                .header(DELETED_COUNT_HEADER, String.valueOf(deleted))
+                .build();
     }
 }
\ No newline at end of file
@@ -1,42 +1,80 @@
 package andrehsvictor.dotask.project;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import andrehsvictor.dotask.cache.SecondLevelCacheConfig;
+import andrehsvictor.dotask.etag.ResourceVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
 
     boolean existsByIdAndUserId(UUID id, UUID userId);
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = SecondLevelCacheConfig.PROJECT_QUERY_REGION)
+    })
     Optional<Project> findByIdAndUserId(UUID id, UUID userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Project> findForUpdateByIdAndUserId(UUID id, UUID userId);
+
+    @Query("SELECT new andrehsvictor.dotask.etag.ResourceVersion(p.id, p.updatedAt) FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<ResourceVersion> findVersionByIdAndUserId(UUID id, UUID userId);
+
+    Page<Project> findAllByUserId(UUID userId, Pageable pageable);
+
     @Query("""
             SELECT p
             FROM Project p
             WHERE p.user.id = :userId
-            AND (
-                LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))
-                OR :query IS NULL
-            )
-                """)
+            AND LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))
+            """)
     Page<Project> findAllByUserIdWithFilter(
             UUID userId,
             String query,
             Pageable pageable);
 
-    @Modifying
-    @Transactional
-    Integer deleteByIdAndUserId(UUID id, UUID userId);
+    @Query(value = """
+            SELECT p
+            FROM Project p
+            WHERE p.user.id = :userId
+            AND LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))
+            ORDER BY similarity(LOWER(p.name), LOWER(:query)) DESC, p.createdAt DESC, p.id DESC
+            """, countQuery = """
+            SELECT COUNT(p)
+            FROM Project p
+            WHERE p.user.id = :userId
+            AND LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))
+            """)
+    Page<Project> findAllByUserIdWithFilterRankedByRelevance(
+            UUID userId,
+            String query,
+            Pageable pageable);
 
-    @Modifying
-    @Transactional
-    Integer deleteAllByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+    /**
+     * Deletes with plain SQL so that Hibernate doesn't clear the whole
+     * project region as it does for bulk JPQL statements. The caller evicts
+     * the returned ids.
+     */
+    @Query(value = """
+            DELETE FROM projects
+            WHERE user_id = :userId
+            AND id IN (:ids)
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> deleteAllByUserIdAndIdInReturningId(UUID userId, Collection<UUID> ids);
 
 }
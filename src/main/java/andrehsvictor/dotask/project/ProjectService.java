@@ -1,83 +1,189 @@
 package andrehsvictor.dotask.project;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import andrehsvictor.dotask.cache.EntityCacheService;
+import andrehsvictor.dotask.etag.CollectionVersionService;
+import andrehsvictor.dotask.etag.ResourceVersion;
+import andrehsvictor.dotask.exception.PreconditionFailedException;
 import andrehsvictor.dotask.exception.ResourceNotFoundException;
-import andrehsvictor.dotask.jwt.JwtService;
 import andrehsvictor.dotask.project.dto.GetProjectDto;
 import andrehsvictor.dotask.project.dto.PostProjectDto;
 import andrehsvictor.dotask.project.dto.PutProjectDto;
+import andrehsvictor.dotask.task.TaskStatsService;
 import andrehsvictor.dotask.user.User;
 import andrehsvictor.dotask.user.UserService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    private static final String ADD_TO_TASK_COUNT = """
+            UPDATE projects
+            SET task_count = task_count + ?, updated_at = ?
+            WHERE id = ?
+            RETURNING task_count
+            """;
+
     private final ProjectRepository projectRepository;
-    private final JwtService jwtService;
     private final ProjectMapper projectMapper;
     private final UserService userService;
+    private final CollectionVersionService collectionVersionService;
+    private final EntityCacheService entityCacheService;
+    private final TaskStatsService taskStatsService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${bulk-delete.chunk-size}")
+    private int bulkDeleteChunkSize;
 
     public GetProjectDto toDto(Project project) {
         return projectMapper.projectToGetProjectDto(project);
     }
 
-    public boolean existsById(UUID id) {
-        UUID userId = jwtService.getCurrentUserUuid();
+    public boolean existsById(UUID userId, UUID id) {
         return projectRepository.existsByIdAndUserId(id, userId);
     }
 
-    public Page<Project> findAll(String query, Pageable pageable) {
-        UUID userId = jwtService.getCurrentUserUuid();
+    public Page<Project> findAll(UUID userId, String query, boolean rankByRelevance, Pageable pageable) {
+        if (query == null) {
+            return projectRepository.findAllByUserId(userId, pageable);
+        }
+        if (rankByRelevance) {
+            return projectRepository.findAllByUserIdWithFilterRankedByRelevance(userId, query, pageable);
+        }
         return projectRepository.findAllByUserIdWithFilter(userId, query, pageable);
     }
     
-    public Project findById(UUID id) {
-        UUID userId = jwtService.getCurrentUserUuid();
+    public Project findById(UUID userId, UUID id) {
         return projectRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException(Project.class, "ID", id));
     }
 
-    public Project create(PostProjectDto postProjectDto) {
+    public ResourceVersion findVersion(UUID userId, UUID id) {
+        return projectRepository.findVersionByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(Project.class, "ID", id));
+    }
+
+    public ResourceVersion versionOf(Project project) {
+        return new ResourceVersion(project.getId(), project.getUpdatedAt());
+    }
+
+    @Transactional
+    public Project create(UUID userId, PostProjectDto postProjectDto) {
+        collectionVersionService.bump(userId);
         Project project = projectMapper.postProjectDtoToProject(postProjectDto);
-        User user = userService.findMe();
+        User user = userService.getReferenceById(userId);
         project.setUser(user);
         return projectRepository.save(project);
     }
 
-    public Project update(UUID id, PutProjectDto putProjectDto) {
-        Project project = findById(id);
+    /**
+     * Updates the project if {@code precondition} accepts its current version.
+     * The project is locked before the check, so no other write can change it
+     * between the check and the update.
+     */
+    @Transactional
+    public Project update(UUID userId, UUID id, PutProjectDto putProjectDto,
+            Predicate<ResourceVersion> precondition) {
+        collectionVersionService.bump(userId);
+        Project project = projectRepository.findForUpdateByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(Project.class, "ID", id));
+        if (!precondition.test(versionOf(project))) {
+            throw new PreconditionFailedException(Project.class);
+        }
         projectMapper.updateProjectFromPutProjectDto(project, putProjectDto);
         return projectRepository.save(project);
     }
 
-    public void delete(UUID id) {
-        UUID userId = jwtService.getCurrentUserUuid();
-        if (projectRepository.deleteByIdAndUserId(id, userId) == 0) {
+    @Transactional
+    public void delete(UUID userId, UUID id) {
+        collectionVersionService.bump(userId);
+        taskStatsService.removeProjectTasks(userId, List.of(id));
+        List<UUID> deleted = projectRepository.deleteAllByUserIdAndIdInReturningId(userId, List.of(id));
+        if (deleted.isEmpty()) {
             throw new ResourceNotFoundException(Project.class, "ID", id);
         }
+        entityCacheService.evictRemoved(Project.class, deleted);
     }
 
-    public void deleteAllByIdIn(Collection<UUID> ids) {
-        UUID userId = jwtService.getCurrentUserUuid();
-        projectRepository.deleteAllByUserIdAndIdIn(userId, ids);
+    public int deleteAllByIdIn(UUID userId, Collection<UUID> ids) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += bulkDeleteChunkSize) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + bulkDeleteChunkSize, distinctIds.size()));
+            deleted += transactionTemplate.execute(status -> deleteChunk(userId, chunk));
+        }
+        return deleted;
     }
 
-    public Project incrementTaskCount(Project project) {
-        project.setTaskCount(project.getTaskCount() + 1);
-        return projectRepository.save(project);
+    private int deleteChunk(UUID userId, List<UUID> ids) {
+        collectionVersionService.bump(userId);
+        taskStatsService.removeProjectTasks(userId, ids);
+        List<UUID> deleted = projectRepository.deleteAllByUserIdAndIdInReturningId(userId, ids);
+        entityCacheService.evictRemoved(Project.class, deleted);
+        return deleted.size();
     }
 
-    public Project decrementTaskCount(Project project) {
-        project.setTaskCount(project.getTaskCount() - 1);
-        return projectRepository.save(project);
+    /**
+     * Adds to the task count of a project loaded in the current transaction.
+     * The counter is updated with SQL so concurrent task creations don't lose
+     * increments, and the new values are copied to the entity, which is made
+     * read-only so Hibernate doesn't write them again, and to its cache entry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementTaskCount(Project project, int count) {
+        LocalDateTime now = now();
+        List<Integer> taskCounts = jdbcTemplate.queryForList(ADD_TO_TASK_COUNT, Integer.class,
+                count, now, project.getId());
+        if (taskCounts.isEmpty()) {
+            throw new ResourceNotFoundException(Project.class, "ID", project.getId());
+        }
+        entityManager.unwrap(Session.class).setReadOnly(project, true);
+        project.setTaskCount(taskCounts.get(0));
+        project.setUpdatedAt(now);
+        entityCacheService.update(project);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrementTaskCount(UUID id) {
+        addToTaskCount(id, -1, now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrementTaskCounts(Map<UUID, Long> taskCountsByProjectId) {
+        LocalDateTime now = now();
+        taskCountsByProjectId.forEach((id, count) -> addToTaskCount(id, -Math.toIntExact(count), now));
+    }
+
+    private void addToTaskCount(UUID id, int delta, LocalDateTime updatedAt) {
+        jdbcTemplate.queryForList(ADD_TO_TASK_COUNT, Integer.class, delta, updatedAt, id);
+        entityCacheService.evict(Project.class, id);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
 }
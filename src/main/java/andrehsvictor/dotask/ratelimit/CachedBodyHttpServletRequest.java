@@ -0,0 +1,82 @@
+package andrehsvictor.dotask.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.unit.DataSize;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Buffers at most {@code maxBodySize} bytes of the request body so it can be
+ * read again downstream. A body past that size is flagged as truncated and
+ * must not be forwarded, since the rest of it was never read.
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private final boolean truncated;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, DataSize maxBodySize) throws IOException {
+        super(request);
+        int limit = Math.toIntExact(maxBodySize.toBytes());
+        byte[] read = request.getInputStream().readNBytes(limit + 1);
+        this.truncated = read.length > limit;
+        this.body = truncated ? new byte[0] : read;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return inputStream.read(buffer, offset, length);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+}
@@ -0,0 +1,76 @@
+package andrehsvictor.dotask.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lock-free token buckets kept as a single "theoretical arrival time" per key
+ * (GCRA), updated with compare-and-set. A bucket that has refilled completely
+ * carries no state and is evicted. When the map is full, unseen keys are let
+ * through untracked so memory stays bounded under attack without locking out
+ * every first-time caller: a flood of new emails still runs into the per-IP
+ * buckets of the addresses sending it, which are already tracked.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+    @Value("${rate-limit.max-keys}")
+    private int maxKeys;
+
+    @Override
+    public Duration tryConsume(RateLimit limit, String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = bucket(limit.name() + ':' + key, now);
+        if (bucket == null) {
+            return Duration.ZERO;
+        }
+        long interval = limit.emissionInterval().toNanos();
+        long burst = limit.period().toNanos();
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return Duration.ofNanos(excess);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval}")
+    public void evictRefilledBuckets() {
+        long now = System.nanoTime();
+        lastEviction.set(now);
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            long last = lastEviction.get();
+            if (now - last >= Duration.ofSeconds(1).toNanos() && lastEviction.compareAndSet(last, now)) {
+                evictRefilledBuckets();
+            }
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+    }
+
+}
@@ -0,0 +1,60 @@
+package andrehsvictor.dotask.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Shares the token buckets between replicas in the {@code rate_limit_buckets}
+ * table. Each attempt is a single upsert evaluated against the database
+ * clock, so concurrent replicas cannot overdraw a bucket.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final String NOW_MILLIS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT";
+
+    private static final String CONSUME = """
+            INSERT INTO rate_limit_buckets AS b (key, arrival_at)
+            VALUES (?, %1$s + ?)
+            ON CONFLICT (key) DO UPDATE
+            SET arrival_at = GREATEST(b.arrival_at, %1$s) + ?
+            WHERE GREATEST(b.arrival_at, %1$s) + ? - %1$s <= ?
+            RETURNING arrival_at
+            """.formatted(NOW_MILLIS);
+
+    private static final String WAIT = """
+            SELECT arrival_at + ? - ? - %s FROM rate_limit_buckets WHERE key = ?
+            """.formatted(NOW_MILLIS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Duration tryConsume(RateLimit limit, String key) {
+        String bucketKey = limit.name() + ':' + key;
+        long interval = limit.emissionInterval().toMillis();
+        long burst = limit.period().toMillis();
+
+        List<Long> consumed = jdbcTemplate.queryForList(CONSUME, Long.class,
+                bucketKey, interval, interval, interval, burst);
+        if (!consumed.isEmpty()) {
+            return Duration.ZERO;
+        }
+        List<Long> wait = jdbcTemplate.queryForList(WAIT, Long.class, interval, burst, bucketKey);
+        return Duration.ofMillis(wait.isEmpty() ? interval : Math.max(1, wait.get(0)));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval}")
+    public void evictRefilledBuckets() {
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE arrival_at <= " + NOW_MILLIS);
+    }
+
+}
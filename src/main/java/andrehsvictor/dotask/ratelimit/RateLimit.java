@@ -0,0 +1,38 @@
+package andrehsvictor.dotask.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * A token bucket holding {@code capacity} tokens that refill evenly over
+ * {@code period}. Configured as {@code <capacity>/<period>}, e.g.
+ * {@code 5/1m}.
+ */
+public record RateLimit(String name, int capacity, Duration period) {
+
+    public RateLimit {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be positive: " + name);
+        }
+        if (period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit period must be positive: " + name);
+        }
+    }
+
+    public static RateLimit parse(String name, String value) {
+        int separator = value.indexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException(
+                    "Rate limit '" + name + "' must look like <capacity>/<period>, got: " + value);
+        }
+        return new RateLimit(name,
+                Integer.parseInt(value.substring(0, separator).trim()),
+                DurationStyle.detectAndParse(value.substring(separator + 1).trim()));
+    }
+
+    public Duration emissionInterval() {
+        return period.dividedBy(capacity);
+    }
+
+}
@@ -0,0 +1,19 @@
+package andrehsvictor.dotask.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Stores the token buckets. The in-memory backend limits each replica on its
+ * own; the JDBC backend shares buckets across replicas through PostgreSQL.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes one token from the bucket of {@code key} under {@code limit}.
+     *
+     * @return {@link Duration#ZERO} if a token was taken, otherwise how long
+     *         until one becomes available
+     */
+    Duration tryConsume(RateLimit limit, String key);
+
+}
@@ -0,0 +1,152 @@
+package andrehsvictor.dotask.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import andrehsvictor.dotask.exception.dto.ErrorDto;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles the public endpoints that cost a password hash or an email per
+ * call. Every request takes a token from the bucket of its client IP and,
+ * where the body carries one, of the target email. An empty bucket yields 429
+ * with {@code Retry-After} before any controller work happens. Only the first
+ * {@code rate-limit.max-body-size} bytes of a body are buffered to find the
+ * email, and larger bodies are refused with 413.
+ *
+ * <p>
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}. Behind a
+ * reverse proxy, set {@code server.forward-headers-strategy} to
+ * {@code native} and list the proxies in
+ * {@code server.tomcat.remoteip.internal-proxies}, so that
+ * {@code X-Forwarded-For} is honoured from them and from no one else.
+ * Otherwise every client shares the bucket of the proxy.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_EMAIL_LENGTH = 254;
+
+    private final RateLimitBackend rateLimitBackend;
+    private final ObjectMapper objectMapper;
+    private final Map<String, EndpointLimits> endpoints;
+    private final DataSize maxBodySize;
+
+    public RateLimitFilter(RateLimitBackend rateLimitBackend, ObjectMapper objectMapper,
+            @Value("${rate-limit.max-body-size}") DataSize maxBodySize,
+            @Value("${rate-limit.token.per-ip}") String tokenPerIp,
+            @Value("${rate-limit.token.per-email}") String tokenPerEmail,
+            @Value("${rate-limit.token-refresh.per-ip}") String tokenRefreshPerIp,
+            @Value("${rate-limit.send-action-email.per-ip}") String sendActionEmailPerIp,
+            @Value("${rate-limit.send-action-email.per-email}") String sendActionEmailPerEmail) {
+        this.rateLimitBackend = rateLimitBackend;
+        this.objectMapper = objectMapper;
+        this.maxBodySize = maxBodySize;
+        this.endpoints = Map.of(
+                "/api/v1/token", new EndpointLimits(
+                        RateLimit.parse("token:ip", tokenPerIp),
+                        RateLimit.parse("token:email", tokenPerEmail)),
+                "/api/v1/token/refresh", new EndpointLimits(
+                        RateLimit.parse("token-refresh:ip", tokenRefreshPerIp),
+                        null),
+                "/api/v1/users/send-action-email", new EndpointLimits(
+                        RateLimit.parse("send-action-email:ip", sendActionEmailPerIp),
+                        RateLimit.parse("send-action-email:email", sendActionEmailPerEmail)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !endpoints.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointLimits limits = endpoints.get(path(request));
+
+        Duration wait = rateLimitBackend.tryConsume(limits.perIp(), request.getRemoteAddr());
+        if (!wait.isZero()) {
+            reject(response, wait);
+            return;
+        }
+
+        if (limits.perEmail() != null) {
+            if (request.getContentLengthLong() > maxBodySize.toBytes()) {
+                rejectTooLarge(response);
+                return;
+            }
+            CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, maxBodySize);
+            if (cachedRequest.isTruncated()) {
+                rejectTooLarge(response);
+                return;
+            }
+            String email = extractEmail(cachedRequest.getBody());
+            if (email != null) {
+                wait = rateLimitBackend.tryConsume(limits.perEmail(), email);
+                if (!wait.isZero()) {
+                    reject(response, wait);
+                    return;
+                }
+            }
+            request = cachedRequest;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            if (!email.isTextual() || email.asText().isBlank() || email.asText().length() > MAX_EMAIL_LENGTH) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, Duration wait) throws IOException {
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please try again later");
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                "Request body must not exceed " + maxBodySize.toBytes() + " bytes");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorDto.of(message));
+    }
+
+    private record EndpointLimits(RateLimit perIp, RateLimit perEmail) {
+    }
+
+}
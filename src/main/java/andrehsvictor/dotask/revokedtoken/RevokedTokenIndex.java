@@ -0,0 +1,154 @@
+package andrehsvictor.dotask.revokedtoken;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import andrehsvictor.dotask.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node-local index of revoked token IDs. A Bloom filter answers the common
+ * "never revoked" case without touching the database; entries are kept until
+ * the token itself expires and the filter is rebuilt without them. Writers
+ * serialise on a {@link ReentrantLock} rather than the object monitor, since
+ * {@link #reload()} queries the database and would otherwise pin the carrier
+ * of a virtual thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenIndex implements MeterBinder {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final Map<UUID, Instant> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    private volatile boolean synchronizedWithCluster;
+
+    @Value("${security.token.revocation.index.expected-insertions}")
+    private int expectedInsertions;
+
+    @Value("${security.token.revocation.index.false-positive-probability}")
+    private double falsePositiveProbability;
+
+    @PostConstruct
+    public void warmUp() {
+        reload();
+    }
+
+    public void reload() {
+        lock.lock();
+        try {
+            entries.clear();
+            for (RevokedToken revokedToken : revokedTokenRepository.findAllByExpiresAtAfter(LocalDateTime.now())) {
+                entries.put(revokedToken.getJti(), toInstant(revokedToken.getExpiresAt()));
+            }
+            rebuildFilter();
+            log.info("Revoked token index loaded with {} entries", entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void add(UUID jti, Instant expiresAt) {
+        if (expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(jti, expiresAt);
+            filter.put(jti);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean mightContain(UUID jti) {
+        if (filter.mightContain(jti)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    public boolean contains(UUID jti) {
+        Instant expiresAt = entries.get(jti);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Whether revocations from every node are known to reach this index. Only
+     * then may a filter hit be answered from memory instead of the database.
+     */
+    public boolean isSynchronizedWithCluster() {
+        return synchronizedWithCluster;
+    }
+
+    public void setSynchronizedWithCluster(boolean synchronizedWithCluster) {
+        this.synchronizedWithCluster = synchronizedWithCluster;
+    }
+
+    @Scheduled(fixedDelayString = "${security.token.revocation.index.eviction-interval}")
+    public void evictExpired() {
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            if (entries.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+                rebuildFilter();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("revoked.tokens.index.lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Lookups the Bloom filter flagged as possibly revoked, confirmed against the index or the revoked tokens table")
+                .register(registry);
+        FunctionCounter.builder("revoked.tokens.index.lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Lookups the Bloom filter ruled out as never revoked")
+                .register(registry);
+        Gauge.builder("revoked.tokens.index.size", this, RevokedTokenIndex::size)
+                .description("Unexpired revoked tokens held in the index")
+                .register(registry);
+    }
+
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, entries.size() * 2),
+                falsePositiveProbability);
+        entries.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private Instant toInstant(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
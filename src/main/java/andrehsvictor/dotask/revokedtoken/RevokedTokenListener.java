@@ -0,0 +1,61 @@
+package andrehsvictor.dotask.revokedtoken;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import andrehsvictor.dotask.notification.NotificationHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the local {@link RevokedTokenIndex} in step with revocations made on
+ * other nodes through PostgreSQL LISTEN/NOTIFY. The index is resynchronised
+ * from the table every time the listening connection is (re)established, and
+ * lookups go to the database while it is down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "security.token.revocation.propagation.enabled", havingValue = "true", matchIfMissing = true)
+public class RevokedTokenListener implements NotificationHandler {
+
+    public static final String CHANNEL = "revoked_tokens";
+
+    private final RevokedTokenIndex revokedTokenIndex;
+
+    public static String toPayload(UUID jti, Instant expiresAt) {
+        return jti + ":" + expiresAt.getEpochSecond();
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onConnected() {
+        revokedTokenIndex.reload();
+        revokedTokenIndex.setSynchronizedWithCluster(true);
+    }
+
+    @Override
+    public void onDisconnected() {
+        revokedTokenIndex.setSynchronizedWithCluster(false);
+    }
+
+    @Override
+    public void handle(String payload) {
+        int separator = payload.indexOf(':');
+        try {
+            UUID jti = UUID.fromString(payload.substring(0, separator));
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(payload.substring(separator + 1)));
+            revokedTokenIndex.add(jti, expiresAt);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed revoked token notification: {}", payload);
+        }
+    }
+
+}
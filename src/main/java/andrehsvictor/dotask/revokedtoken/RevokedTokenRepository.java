@@ -1,6 +1,7 @@
 package andrehsvictor.dotask.revokedtoken;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,8 @@ public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID
 
     boolean existsByJti(UUID jti);
 
+    List<RevokedToken> findAllByExpiresAtAfter(LocalDateTime expiresAt);
+
     @Modifying
     int deleteByExpiresAtBefore(LocalDateTime expiresAt);
 
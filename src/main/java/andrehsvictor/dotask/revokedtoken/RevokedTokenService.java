@@ -5,10 +5,13 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.UUID;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,6 +20,8 @@ import lombok.RequiredArgsConstructor;
 public class RevokedTokenService {
 
     private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenIndex revokedTokenIndex;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public void revoke(Jwt jwt) {
@@ -33,11 +38,26 @@ public class RevokedTokenService {
                 .build();
                 
         revokedTokenRepository.save(revokedToken);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)",
+                RevokedTokenListener.CHANNEL,
+                RevokedTokenListener.toPayload(jti, jwt.getExpiresAt()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revokedTokenIndex.add(jti, jwt.getExpiresAt());
+            }
+        });
     }
 
-    @Transactional(readOnly = true)
     public boolean isRevoked(Jwt jwt) {
-        return revokedTokenRepository.existsByJti(UUID.fromString(jwt.getId()));
+        UUID jti = UUID.fromString(jwt.getId());
+        if (!revokedTokenIndex.mightContain(jti)) {
+            return false;
+        }
+        if (revokedTokenIndex.isSynchronizedWithCluster()) {
+            return revokedTokenIndex.contains(jti);
+        }
+        return revokedTokenRepository.existsByJti(jti);
     }
     
     @Scheduled(cron = "0 0 1 * * ?")
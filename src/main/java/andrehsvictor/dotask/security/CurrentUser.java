@@ -0,0 +1,21 @@
+package andrehsvictor.dotask.security;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import andrehsvictor.dotask.jwt.JwtType;
+
+/**
+ * Principal of a request authenticated with a bearer token, built once from
+ * the decoded JWT so controllers can hand the user ID straight to services.
+ */
+public record CurrentUser(UUID id, JwtType type) implements AuthenticatedPrincipal, Serializable {
+
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+
+}
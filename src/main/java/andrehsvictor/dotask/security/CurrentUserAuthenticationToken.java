@@ -0,0 +1,25 @@
+package andrehsvictor.dotask.security;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+
+public class CurrentUserAuthenticationToken extends AbstractOAuth2TokenAuthenticationToken<Jwt> {
+
+    private static final long serialVersionUID = 7342087164825610318L;
+
+    public CurrentUserAuthenticationToken(Jwt jwt, CurrentUser currentUser,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(jwt, currentUser, jwt, authorities);
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Map<String, Object> getTokenAttributes() {
+        return getToken().getClaims();
+    }
+
+}
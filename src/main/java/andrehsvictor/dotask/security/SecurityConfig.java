@@ -2,6 +2,7 @@ package andrehsvictor.dotask.security;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -15,15 +16,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import andrehsvictor.dotask.jwt.JwtTypeFilter;
+import andrehsvictor.dotask.jwt.AccessJwtAuthenticationConverter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSecurity
@@ -57,12 +58,22 @@ public class SecurityConfig {
     @Value("${security.cors.allowed-methods}")
     private String[] allowedMethods;
 
+    @Value("${security.password.bcrypt-strength}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hashing.pool-size}")
+    private int hashingPoolSize;
+
+    @Value("${security.password.hashing.queue-capacity}")
+    private int hashingQueueCapacity;
+
     private final UserDetailsServiceImpl userDetailsService;
-    private final JwtTypeFilter jwtTypeFilter;
+    private final AccessJwtAuthenticationConverter accessJwtAuthenticationConverter;
 
-    public SecurityConfig(UserDetailsServiceImpl userDetailsService, JwtTypeFilter jwtTypeFilter) {
+    public SecurityConfig(UserDetailsServiceImpl userDetailsService,
+            AccessJwtAuthenticationConverter accessJwtAuthenticationConverter) {
         this.userDetailsService = userDetailsService;
-        this.jwtTypeFilter = jwtTypeFilter;
+        this.accessJwtAuthenticationConverter = accessJwtAuthenticationConverter;
     }
 
     @Bean
@@ -78,21 +89,24 @@ public class SecurityConfig {
                         .requestMatchers(DOCUMENTATION_ENDPOINTS).permitAll()
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(
-                        oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new JwtAuthenticationConverter())))
-                .addFilterBefore(jwtTypeFilter, UsernamePasswordAuthenticationFilter.class)
+                        oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(accessJwtAuthenticationConverter)))
                 .build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating, hashingPoolSize, hashingQueueCapacity, meterRegistry);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
         return new ProviderManager(provider);
     }
 
@@ -2,6 +2,7 @@ package andrehsvictor.dotask.security;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.UUID;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +17,14 @@ public class UserDetailsImpl implements UserDetails {
 
     private final User user;
 
+    public UUID getId() {
+        return user.getId();
+    }
+
+    User getUser() {
+        return user;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.emptyList();
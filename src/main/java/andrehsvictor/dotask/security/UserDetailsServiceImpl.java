@@ -1,19 +1,23 @@
 package andrehsvictor.dotask.security;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import andrehsvictor.dotask.cache.EntityCacheService;
 import andrehsvictor.dotask.user.User;
 import andrehsvictor.dotask.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final EntityCacheService entityCacheService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -22,4 +26,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return new UserDetailsImpl(user);
     }
 
+    /**
+     * Stores the hash re-encoded on login when the stored one uses an outdated
+     * encoder or cost factor.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = ((UserDetailsImpl) userDetails).getUser();
+        userRepository.updatePasswordById(user.getId(), newPassword);
+        entityCacheService.evict(User.class, user.getId());
+        user.setPassword(newPassword);
+        return userDetails;
+    }
+
 }
@@ -1,11 +1,20 @@
 package andrehsvictor.dotask.task;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,12 +23,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import andrehsvictor.dotask.etag.CollectionVersionService;
+import andrehsvictor.dotask.etag.ResourceVersion;
+import andrehsvictor.dotask.pagination.dto.CursorPageDto;
+import andrehsvictor.dotask.security.CurrentUser;
 import andrehsvictor.dotask.task.dto.GetTaskDto;
+import andrehsvictor.dotask.task.dto.GetTaskImportJobDto;
+import andrehsvictor.dotask.task.dto.GetTaskStatsDto;
 import andrehsvictor.dotask.task.dto.PostTaskDto;
 import andrehsvictor.dotask.task.dto.PutTaskDto;
+import andrehsvictor.dotask.task.dto.TaskBatchResultDto;
 import andrehsvictor.dotask.util.StringNormalizer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -37,44 +59,181 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Tasks", description = "API for task management")
 public class TaskController {
 
+    private static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
     private final TaskService taskService;
+    private final CollectionVersionService collectionVersionService;
+    private final TaskExporter taskExporter;
+    private final TaskImportService taskImportService;
 
     @Operation(summary = "Find all tasks", description = "Retrieves all tasks for the authenticated user with optional filtering")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = GetTaskDto.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the given ETag"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/api/v1/tasks")
     public ResponseEntity<Page<GetTaskDto>> findAll(
+            CurrentUser currentUser,
             @Parameter(description = "Search query to filter tasks by title or description") @RequestParam(name = "q", required = false) String query,
             @Parameter(description = "Filter tasks by status") TaskStatus status,
             @Parameter(description = "Filter tasks by priority") TaskPriority priority,
             @Parameter(description = "Filter tasks with due date starting from this date") @RequestParam(name = "dueDate.from", required = false) LocalDate startDate,
             @Parameter(description = "Filter tasks with due date up to this date") @RequestParam(name = "dueDate.to", required = false) LocalDate endDate,
             @Parameter(description = "Filter tasks by project association (true = has project, false = no project)") Boolean hasProject,
-            Pageable pageable) {
+            @Parameter(description = "Order tasks by how closely they match the search query") @RequestParam(name = "rank", defaultValue = "false") boolean rank,
+            Pageable pageable,
+            WebRequest webRequest) {
+        if (collectionVersionService.checkNotModified(currentUser.id(), webRequest)) {
+            return null;
+        }
         query = StringNormalizer.normalize(query);
-        Page<Task> tasks = taskService.findAllWithFilters(query,
+        Page<TaskSummary> tasks = taskService.findAllWithFilters(currentUser.id(), query,
                 status,
                 priority,
                 startDate,
                 endDate,
                 hasProject,
+                rank,
                 pageable);
         Page<GetTaskDto> taskDtos = tasks.map(taskService::toDto);
         return ResponseEntity.ok(taskDtos);
     }
 
+    @Operation(summary = "Scroll through tasks", description = "Retrieves tasks for the authenticated user newest first using an opaque cursor instead of page numbers. Pass an empty cursor to start and the returned nextCursor to continue")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping(value = "/api/v1/tasks", params = "cursor")
+    public ResponseEntity<CursorPageDto<GetTaskDto>> findAllByCursor(
+            CurrentUser currentUser,
+            @Parameter(description = "Cursor returned by the previous request, empty for the first one") @RequestParam(name = "cursor") String cursor,
+            @Parameter(description = "Maximum number of tasks to return") @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @Parameter(description = "Search query to filter tasks by title or description") @RequestParam(name = "q", required = false) String query,
+            @Parameter(description = "Filter tasks by status") TaskStatus status,
+            @Parameter(description = "Filter tasks by priority") TaskPriority priority,
+            @Parameter(description = "Filter tasks with due date starting from this date") @RequestParam(name = "dueDate.from", required = false) LocalDate startDate,
+            @Parameter(description = "Filter tasks with due date up to this date") @RequestParam(name = "dueDate.to", required = false) LocalDate endDate,
+            @Parameter(description = "Filter tasks by project association (true = has project, false = no project)") Boolean hasProject,
+            WebRequest webRequest) {
+        if (collectionVersionService.checkNotModified(currentUser.id(), webRequest)) {
+            return null;
+        }
+        query = StringNormalizer.normalize(query);
+        CursorPageDto<TaskSummary> tasks = taskService.findAllWithFilters(
+                currentUser.id(),
+                cursor,
+                limit,
+                query,
+                status,
+                priority,
+                startDate,
+                endDate,
+                hasProject);
+        return ResponseEntity.ok(tasks.map(taskService::toDto));
+    }
+
+    @Operation(summary = "Export tasks", description = "Streams every task of the authenticated user matching the given filters, newest first, as newline-delimited JSON or CSV. The response is gzip-compressed when the client accepts it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks exported successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "503", description = "Too many exports in progress")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/api/v1/tasks/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            CurrentUser currentUser,
+            @Parameter(description = "Export format, ndjson or csv") @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @Parameter(description = "Search query to filter tasks by title or description") @RequestParam(name = "q", required = false) String query,
+            @Parameter(description = "Filter tasks by status") TaskStatus status,
+            @Parameter(description = "Filter tasks by priority") TaskPriority priority,
+            @Parameter(description = "Filter tasks with due date starting from this date") @RequestParam(name = "dueDate.from", required = false) LocalDate startDate,
+            @Parameter(description = "Filter tasks with due date up to this date") @RequestParam(name = "dueDate.to", required = false) LocalDate endDate,
+            @Parameter(description = "Filter tasks by project association (true = has project, false = no project)") Boolean hasProject,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        TaskExportFormat exportFormat = TaskExportFormat.fromString(format);
+        String normalizedQuery = StringNormalizer.normalize(query);
+        UUID userId = currentUser.id();
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        taskExporter.acquire();
+        releaseExportSlotOnCompletion(webRequest);
+        return response.body(outputStream -> taskExporter.export(
+                outputStream,
+                exportFormat,
+                gzip,
+                userId,
+                normalizedQuery,
+                status,
+                priority,
+                startDate,
+                endDate,
+                hasProject));
+    }
+
+    @Operation(summary = "Import tasks", description = "Uploads newline-delimited JSON or CSV tasks and imports them in the background. Every row is validated like a created task and may name its project. Poll the returned job for progress and the rows that were rejected")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Import accepted", content = @Content(schema = @Schema(implementation = GetTaskImportJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported import format"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "413", description = "Import file too large"),
+            @ApiResponse(responseCode = "503", description = "Too many imports in progress")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/api/v1/tasks/imports")
+    public ResponseEntity<GetTaskImportJobDto> importTasks(
+            CurrentUser currentUser,
+            @Parameter(description = "Import format, ndjson or csv") @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            InputStream inputStream) throws IOException {
+        TaskImportJob job = taskImportService.start(currentUser.id(), format, inputStream);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/tasks/imports/" + job.getId()))
+                .body(taskImportService.toDto(job));
+    }
+
+    @Operation(summary = "Find task import by ID", description = "Retrieves the progress of a task import and the rows that were rejected")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import retrieved successfully", content = @Content(schema = @Schema(implementation = GetTaskImportJobDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Import not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/api/v1/tasks/imports/{id}")
+    public ResponseEntity<GetTaskImportJobDto> findImportById(
+            CurrentUser currentUser,
+            @Parameter(description = "Import ID to retrieve") @PathVariable UUID id) {
+        TaskImportJob job = taskImportService.findById(currentUser.id(), id);
+        return ResponseEntity.ok(taskImportService.toDto(job));
+    }
+
     @Operation(summary = "Find tasks by project", description = "Retrieves all tasks belonging to a specific project with optional filtering")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = GetTaskDto.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the given ETag"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/api/v1/projects/{projectId}/tasks")
     public ResponseEntity<Page<GetTaskDto>> findAllByProjectId(
+            CurrentUser currentUser,
             @Parameter(description = "Project ID to retrieve tasks from") @PathVariable UUID projectId,
             @Parameter(description = "Search query to filter tasks by title or description") @RequestParam(name = "q", required = false) String query,
             @Parameter(description = "Filter tasks by status") TaskStatus status,
@@ -82,9 +241,14 @@ public class TaskController {
             @Parameter(description = "Filter tasks with due date starting from this date") @RequestParam(name = "dueDate.from", required = false) LocalDate startDate,
             @Parameter(description = "Filter tasks with due date up to this date") @RequestParam(name = "dueDate.to", required = false) LocalDate endDate,
             @Parameter(description = "Filter tasks by project association (true = has project, false = no project)") Boolean hasProject,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest webRequest) {
+        if (collectionVersionService.checkNotModified(currentUser.id(), webRequest)) {
+            return null;
+        }
         query = StringNormalizer.normalize(query);
-        Page<Task> tasks = taskService.findAllByProjectIdWithFilters(
+        Page<TaskSummary> tasks = taskService.findAllByProjectIdWithFilters(
+                currentUser.id(),
                 projectId,
                 query,
                 status,
@@ -97,17 +261,86 @@ public class TaskController {
         return ResponseEntity.ok(taskDtos);
     }
 
+    @Operation(summary = "Scroll through tasks by project", description = "Retrieves tasks belonging to a specific project newest first using an opaque cursor instead of page numbers")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping(value = "/api/v1/projects/{projectId}/tasks", params = "cursor")
+    public ResponseEntity<CursorPageDto<GetTaskDto>> findAllByProjectIdByCursor(
+            CurrentUser currentUser,
+            @Parameter(description = "Project ID to retrieve tasks from") @PathVariable UUID projectId,
+            @Parameter(description = "Cursor returned by the previous request, empty for the first one") @RequestParam(name = "cursor") String cursor,
+            @Parameter(description = "Maximum number of tasks to return") @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @Parameter(description = "Search query to filter tasks by title or description") @RequestParam(name = "q", required = false) String query,
+            @Parameter(description = "Filter tasks by status") TaskStatus status,
+            @Parameter(description = "Filter tasks by priority") TaskPriority priority,
+            @Parameter(description = "Filter tasks with due date starting from this date") @RequestParam(name = "dueDate.from", required = false) LocalDate startDate,
+            @Parameter(description = "Filter tasks with due date up to this date") @RequestParam(name = "dueDate.to", required = false) LocalDate endDate,
+            WebRequest webRequest) {
+        if (collectionVersionService.checkNotModified(currentUser.id(), webRequest)) {
+            return null;
+        }
+        query = StringNormalizer.normalize(query);
+        CursorPageDto<TaskSummary> tasks = taskService.findAllByProjectIdWithFilters(
+                currentUser.id(),
+                projectId,
+                cursor,
+                limit,
+                query,
+                status,
+                priority,
+                startDate,
+                endDate);
+        return ResponseEntity.ok(tasks.map(taskService::toDto));
+    }
+
+    @Operation(summary = "Find task statistics", description = "Counts the tasks of the authenticated user by status and priority, including the open tasks past their due date")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(schema = @Schema(implementation = GetTaskStatsDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/api/v1/tasks/stats")
+    public ResponseEntity<GetTaskStatsDto> findStats(CurrentUser currentUser) {
+        return ResponseEntity.ok(taskService.findStats(currentUser.id()));
+    }
+
+    @Operation(summary = "Find task statistics by project", description = "Counts the tasks of a specific project by status and priority, including the open tasks past their due date")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(schema = @Schema(implementation = GetTaskStatsDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/api/v1/projects/{projectId}/tasks/stats")
+    public ResponseEntity<GetTaskStatsDto> findStatsByProjectId(
+            CurrentUser currentUser,
+            @Parameter(description = "Project ID to retrieve statistics from") @PathVariable UUID projectId) {
+        return ResponseEntity.ok(taskService.findStatsByProjectId(currentUser.id(), projectId));
+    }
+
     @Operation(summary = "Find task by ID", description = "Retrieves a specific task by its ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task retrieved successfully", content = @Content(schema = @Schema(implementation = GetTaskDto.class))),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the given ETag or date"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/api/v1/tasks/{id}")
     public ResponseEntity<GetTaskDto> findById(
-            @Parameter(description = "Task ID to retrieve") @PathVariable UUID id) {
-        Task task = taskService.findById(id);
+            CurrentUser currentUser,
+            @Parameter(description = "Task ID to retrieve") @PathVariable UUID id,
+            WebRequest webRequest) {
+        ResourceVersion version = taskService.findVersion(currentUser.id(), id);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        Task task = taskService.findById(currentUser.id(), id);
         GetTaskDto taskDto = taskService.toDto(task);
         return ResponseEntity.ok(taskDto);
     }
@@ -121,8 +354,9 @@ public class TaskController {
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/api/v1/tasks")
     public ResponseEntity<GetTaskDto> create(
+            CurrentUser currentUser,
             @Parameter(description = "Task data") @RequestBody @Valid PostTaskDto postTaskDto) {
-        Task task = taskService.create(postTaskDto);
+        Task task = taskService.create(currentUser.id(), postTaskDto);
         GetTaskDto taskDto = taskService.toDto(task);
         return ResponseEntity.status(201).body(taskDto);
     }
@@ -137,13 +371,44 @@ public class TaskController {
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/api/v1/projects/{projectId}/tasks")
     public ResponseEntity<GetTaskDto> create(
+            CurrentUser currentUser,
             @Parameter(description = "Project ID to associate task with") @PathVariable UUID projectId,
             @Parameter(description = "Task data") @RequestBody @Valid PostTaskDto postTaskDto) {
-        Task task = taskService.create(projectId, postTaskDto);
+        Task task = taskService.create(currentUser.id(), projectId, postTaskDto);
         GetTaskDto taskDto = taskService.toDto(task);
         return ResponseEntity.status(201).body(taskDto);
     }
 
+    @Operation(summary = "Create tasks in bulk", description = "Creates many tasks without associating them with a project. Every item is validated on its own and the response reports the outcome of each one")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed", content = @Content(schema = @Schema(implementation = TaskBatchResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or too large batch"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/api/v1/tasks:batch")
+    public ResponseEntity<TaskBatchResultDto> createAll(
+            CurrentUser currentUser,
+            @Parameter(description = "Tasks data") @RequestBody List<PostTaskDto> postTaskDtos) {
+        return ResponseEntity.ok(taskService.createAll(currentUser.id(), postTaskDtos));
+    }
+
+    @Operation(summary = "Create tasks in a project in bulk", description = "Creates many tasks associated with a specific project. Every item is validated on its own and the response reports the outcome of each one")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed", content = @Content(schema = @Schema(implementation = TaskBatchResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or too large batch"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/api/v1/projects/{projectId}/tasks:batch")
+    public ResponseEntity<TaskBatchResultDto> createAll(
+            CurrentUser currentUser,
+            @Parameter(description = "Project ID to associate tasks with") @PathVariable UUID projectId,
+            @Parameter(description = "Tasks data") @RequestBody List<PostTaskDto> postTaskDtos) {
+        return ResponseEntity.ok(taskService.createAll(currentUser.id(), projectId, postTaskDtos));
+    }
+
     @Operation(summary = "Update task status", description = "Updates only the status of a task")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task status updated successfully", content = @Content(schema = @Schema(implementation = GetTaskDto.class))),
@@ -154,9 +419,10 @@ public class TaskController {
     @SecurityRequirement(name = "bearerAuth")
     @PatchMapping("/api/v1/tasks/{id}/status")
     public ResponseEntity<GetTaskDto> patchStatus(
+            CurrentUser currentUser,
             @Parameter(description = "Task ID to update") @PathVariable UUID id,
             @Parameter(description = "New status value") TaskStatus status) {
-        Task task = taskService.patchStatus(id, status);
+        Task task = taskService.patchStatus(currentUser.id(), id, status);
         GetTaskDto taskDto = taskService.toDto(task);
         return ResponseEntity.ok(taskDto);
     }
@@ -166,16 +432,24 @@ public class TaskController {
             @ApiResponse(responseCode = "200", description = "Task updated successfully", content = @Content(schema = @Schema(implementation = GetTaskDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid task data"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
-            @ApiResponse(responseCode = "404", description = "Task not found")
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the ETag given in If-Match")
     })
     @SecurityRequirement(name = "bearerAuth")
     @PutMapping("/api/v1/tasks/{id}")
     public ResponseEntity<GetTaskDto> update(
+            CurrentUser currentUser,
             @Parameter(description = "Task ID to update") @PathVariable UUID id,
-            @Parameter(description = "Updated task data") @Valid @RequestBody PutTaskDto putTaskDto) {
-        Task task = taskService.update(id, putTaskDto);
+            @Parameter(description = "Updated task data") @Valid @RequestBody PutTaskDto putTaskDto,
+            WebRequest webRequest) {
+        Task task = taskService.update(currentUser.id(), id, putTaskDto,
+                current -> !webRequest.checkNotModified(current.eTag(), current.lastModifiedMillis()));
         GetTaskDto taskDto = taskService.toDto(task);
-        return ResponseEntity.ok(taskDto);
+        ResourceVersion version = taskService.versionOf(task);
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .body(taskDto);
     }
 
     @Operation(summary = "Delete task", description = "Deletes a task by its ID")
@@ -187,8 +461,9 @@ public class TaskController {
     @SecurityRequirement(name = "bearerAuth")
     @DeleteMapping("/api/v1/tasks/{id}")
     public ResponseEntity<Void> delete(
+            CurrentUser currentUser,
             @Parameter(description = "Task ID to delete") @PathVariable UUID id) {
-        taskService.delete(id);
+        taskService.delete(currentUser.id(), id);
         return ResponseEntity.noContent().build();
     }
 
@@ -201,8 +476,43 @@ public class TaskController {
     @SecurityRequirement(name = "bearerAuth")
     @DeleteMapping("/api/v1/tasks")
     public ResponseEntity<Void> deleteAllByIdIn(
+            CurrentUser currentUser,
             @Parameter(description = "Collection of task IDs to delete") @RequestBody Collection<UUID> ids) {
-        taskService.deleteAllByIdIn(ids);
-        return ResponseEntity.noContent().build();
+        int deleted = taskService.deleteAllByIdIn(currentUser.id(), ids);
+        return ResponseEntity.noContent()
+                .header(DELETED_COUNT_HEADER, String.valueOf(deleted))
+                .build();
+    }
+
+    /**
+     * Gives the export slot back once the asynchronous request that streams the
+     * body completes, times out or fails, whether or not the body ever ran.
+     */
+    private void releaseExportSlotOnCompletion(WebRequest webRequest) {
+        AtomicBoolean released = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(TaskExporter.class,
+                new CallableProcessingInterceptor() {
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        if (released.compareAndSet(false, true)) {
+                            taskExporter.release();
+                        }
+                    }
+
+                });
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package andrehsvictor.dotask.task;
+
+import java.util.Optional;
+
+import andrehsvictor.dotask.exception.UnsupportedExportFormatException;
+
+public enum TaskExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    TaskExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TaskExportFormat fromString(String format) {
+        return find(format).orElseThrow(() -> new UnsupportedExportFormatException(format));
+    }
+
+    public static Optional<TaskExportFormat> find(String format) {
+        for (TaskExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return Optional.of(exportFormat);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,195 @@
+package andrehsvictor.dotask.task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import andrehsvictor.dotask.exception.TaskExportBusyException;
+import andrehsvictor.dotask.project.dto.GetProjectDto;
+import andrehsvictor.dotask.task.dto.GetTaskDto;
+
+/**
+ * Writes a user's tasks to an output stream row by row from a forward-only
+ * cursor. Rows are read as {@link TaskSummary} projections and written as
+ * soon as they are mapped, so nothing accumulates in the persistence context
+ * or in memory no matter how many tasks are exported.
+ *
+ * <p>
+ * An export holds a pooled connection and a transaction for as long as the
+ * client takes to download it, so at most {@code task-export.concurrency}
+ * exports run at once. A slot is taken with {@link #acquire()} before the
+ * response is committed, which fails with {@link TaskExportBusyException}
+ * when none is free, and given back with {@link #release()} when the
+ * asynchronous request completes, even if the body was never written.
+ */
+@Component
+public class TaskExporter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String[] CSV_HEADER = {
+            "id", "title", "description", "status", "priority", "dueDate", "createdAt", "updatedAt",
+            "projectId", "projectName"
+    };
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Semaphore slots;
+
+    public TaskExporter(
+            TaskRepository taskRepository,
+            TaskMapper taskMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${task-export.concurrency}") int concurrency) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.slots = new Semaphore(concurrency);
+    }
+
+    public void acquire() {
+        if (!slots.tryAcquire()) {
+            throw new TaskExportBusyException();
+        }
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    public void export(
+            OutputStream outputStream,
+            TaskExportFormat format,
+            boolean gzip,
+            UUID userId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject) throws IOException {
+        if (!gzip) {
+            export(outputStream, format, userId, query, status, priority, startDate, endDate, hasProject);
+            return;
+        }
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(StreamUtils.nonClosing(outputStream),
+                BUFFER_SIZE)) {
+            export(gzipOutputStream, format, userId, query, status, priority, startDate, endDate, hasProject);
+        }
+    }
+
+    private void export(
+            OutputStream outputStream,
+            TaskExportFormat format,
+            UUID userId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject) throws IOException {
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(transaction -> {
+                try (Stream<TaskSummary> tasks = query == null
+                        ? taskRepository.streamAllByUserIdWithFilters(
+                                userId, status, priority, startDate, endDate, hasProject)
+                        : taskRepository.streamAllByUserIdWithFiltersMatching(
+                                userId, query, status, priority, startDate, endDate, hasProject)) {
+                    switch (format) {
+                        case NDJSON -> writeNdjson(tasks, outputStream);
+                        case CSV -> writeCsv(tasks, outputStream);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(Stream<TaskSummary> tasks, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(GetTaskDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (TaskSummary task : (Iterable<TaskSummary>) tasks::iterator) {
+                writer.writeValue(generator, taskMapper.taskSummaryToGetTaskDto(task));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Stream<TaskSummary> tasks, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeCsvRow(writer, CSV_HEADER);
+        for (TaskSummary task : (Iterable<TaskSummary>) tasks::iterator) {
+            GetTaskDto dto = taskMapper.taskSummaryToGetTaskDto(task);
+            GetProjectDto project = dto.getProject();
+            writeCsvRow(writer,
+                    String.valueOf(dto.getId()),
+                    dto.getTitle(),
+                    dto.getDescription(),
+                    dto.getStatus(),
+                    dto.getPriority(),
+                    dto.getDueDate(),
+                    dto.getCreatedAt(),
+                    dto.getUpdatedAt(),
+                    project != null ? String.valueOf(project.getId()) : null,
+                    project != null ? project.getName() : null);
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,64 @@
+package andrehsvictor.dotask.task;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_import_jobs")
+public class TaskImportJob implements Serializable {
+
+    private static final long serialVersionUID = -2860193345791630529L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskExportFormat format;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    private TaskImportStatus status = TaskImportStatus.PENDING;
+
+    @Builder.Default
+    private long processedRows = 0;
+
+    @Builder.Default
+    private long importedRows = 0;
+
+    @Builder.Default
+    private long failedRows = 0;
+
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = this.createdAt;
+    }
+
+}
@@ -0,0 +1,12 @@
+package andrehsvictor.dotask.task;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TaskImportJobRepository extends JpaRepository<TaskImportJob, UUID> {
+
+    Optional<TaskImportJob> findByIdAndUserId(UUID id, UUID userId);
+
+}
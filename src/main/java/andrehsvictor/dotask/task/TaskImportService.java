@@ -0,0 +1,220 @@
+package andrehsvictor.dotask.task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import andrehsvictor.dotask.exception.ImportFileTooLargeException;
+import andrehsvictor.dotask.exception.ResourceNotFoundException;
+import andrehsvictor.dotask.exception.TaskImportBusyException;
+import andrehsvictor.dotask.exception.UnsupportedImportFormatException;
+import andrehsvictor.dotask.task.dto.GetTaskImportJobDto;
+import andrehsvictor.dotask.task.dto.TaskImportErrorDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accepts task imports as background jobs. The upload is spooled to a
+ * temporary file so the request returns as soon as the body is received, and
+ * at most {@code task-import.concurrency} files are loaded at the same time.
+ * At most {@code task-import.queue-capacity} more uploads may be spooling or
+ * waiting for a worker, each holding its temporary file, and further uploads
+ * are refused with {@link TaskImportBusyException} before being read.
+ *
+ * <p>
+ * The jobs accepted by this node are kept alive by a heartbeat on
+ * {@code updated_at}. A pending or running job whose heartbeat is older than
+ * {@code task-import.orphan-after} belonged to a node that stopped, and since
+ * its file is gone with that node it is marked as failed.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String ORPHANED_ERROR = "The import was interrupted, no tasks were created";
+
+    private final TaskImportJobRepository taskImportJobRepository;
+    private final TaskImporter taskImporter;
+    private final TaskMapper taskMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSize maxFileSize;
+    private final int maxErrors;
+    private final Duration orphanAfter;
+    private final Semaphore slots;
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    public TaskImportService(
+            TaskImportJobRepository taskImportJobRepository,
+            TaskImporter taskImporter,
+            TaskMapper taskMapper,
+            JdbcTemplate jdbcTemplate,
+            @Value("${task-import.max-file-size}") DataSize maxFileSize,
+            @Value("${task-import.max-errors}") int maxErrors,
+            @Value("${task-import.concurrency}") int concurrency,
+            @Value("${task-import.queue-capacity}") int queueCapacity,
+            @Value("${task-import.orphan-after}") Duration orphanAfter) {
+        this.taskImportJobRepository = taskImportJobRepository;
+        this.taskImporter = taskImporter;
+        this.taskMapper = taskMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxFileSize = maxFileSize;
+        this.maxErrors = maxErrors;
+        this.orphanAfter = orphanAfter;
+        this.slots = new Semaphore(concurrency + queueCapacity);
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofVirtual().name("task-import-", 0).factory());
+    }
+
+    public TaskImportJob start(UUID userId, String format, InputStream inputStream) throws IOException {
+        TaskExportFormat importFormat = TaskExportFormat.find(format)
+                .orElseThrow(() -> new UnsupportedImportFormatException(format));
+        if (!slots.tryAcquire()) {
+            throw new TaskImportBusyException();
+        }
+        Path file = null;
+        try {
+            file = spool(inputStream, importFormat);
+            TaskImportJob job = taskImportJobRepository.save(TaskImportJob.builder()
+                    .userId(userId)
+                    .format(importFormat)
+                    .build());
+            UUID jobId = job.getId();
+            Path jobFile = file;
+            activeJobs.add(jobId);
+            try {
+                executor.execute(() -> run(jobId, userId, importFormat, jobFile));
+            } catch (RuntimeException e) {
+                activeJobs.remove(jobId);
+                throw e;
+            }
+            return job;
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+    }
+
+    public TaskImportJob findById(UUID userId, UUID id) {
+        return taskImportJobRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(TaskImportJob.class, "ID", id));
+    }
+
+    public GetTaskImportJobDto toDto(TaskImportJob job) {
+        GetTaskImportJobDto dto = taskMapper.taskImportJobToGetTaskImportJobDto(job);
+        dto.setErrors(findErrors(job.getId()));
+        return dto;
+    }
+
+    @Scheduled(fixedDelayString = "${task-import.heartbeat-interval}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (!activeJobs.isEmpty()) {
+            jdbcTemplate.update("""
+                    UPDATE task_import_jobs
+                    SET updated_at = ?
+                    WHERE id = ANY (?) AND status IN ('PENDING', 'RUNNING')
+                    """, now, activeJobs.toArray(UUID[]::new));
+        }
+        failOrphanedJobs(now.minus(orphanAfter));
+    }
+
+    /**
+     * Marks the pending and running jobs without a heartbeat since
+     * {@code staleBefore} as failed and drops the rows they had staged. Runs
+     * with the first heartbeat after startup, which is what fails the jobs a
+     * restart left behind.
+     */
+    public void failOrphanedJobs(LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<UUID> orphaned = jdbcTemplate.queryForList("""
+                UPDATE task_import_jobs
+                SET status = 'FAILED', error = ?, updated_at = ?, completed_at = ?
+                WHERE status IN ('PENDING', 'RUNNING') AND updated_at < ?
+                RETURNING id
+                """, UUID.class, ORPHANED_ERROR, now, now, staleBefore);
+        if (orphaned.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM task_import_rows WHERE job_id = ANY (?)",
+                (Object) orphaned.toArray(UUID[]::new));
+        log.warn("Marked {} orphaned task import(s) as failed", orphaned.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private List<TaskImportErrorDto> findErrors(UUID jobId) {
+        return jdbcTemplate.query("""
+                SELECT line, field, message
+                FROM task_import_errors
+                WHERE job_id = ?
+                ORDER BY line
+                LIMIT ?
+                """, (resultSet, rowNum) -> TaskImportErrorDto.builder()
+                .line(resultSet.getLong("line"))
+                .field(resultSet.getString("field"))
+                .message(resultSet.getString("message"))
+                .build(), jobId, maxErrors);
+    }
+
+    private Path spool(InputStream inputStream, TaskExportFormat format) throws IOException {
+        Path file = Files.createTempFile("task-import-", "." + format.getExtension());
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                total += read;
+                if (total > maxFileSize.toBytes()) {
+                    throw new ImportFileTooLargeException(maxFileSize);
+                }
+                outputStream.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void run(UUID jobId, UUID userId, TaskExportFormat format, Path file) {
+        try {
+            taskImporter.importTasks(jobId, userId, format, file);
+        } finally {
+            activeJobs.remove(jobId);
+            slots.release();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete task import file {}", file, e);
+            }
+        }
+    }
+
+}
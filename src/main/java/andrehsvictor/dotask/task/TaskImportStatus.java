@@ -0,0 +1,5 @@
+package andrehsvictor.dotask.task;
+
+public enum TaskImportStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
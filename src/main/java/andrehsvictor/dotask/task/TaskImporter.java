@@ -0,0 +1,400 @@
+package andrehsvictor.dotask.task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import andrehsvictor.dotask.cache.EntityCacheService;
+import andrehsvictor.dotask.etag.CollectionVersionService;
+import andrehsvictor.dotask.exception.dto.FieldErrorDto;
+import andrehsvictor.dotask.project.Project;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.util.CsvReader;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads an uploaded file of tasks in two steps. The file is parsed row by row
+ * and every row valid under the rules of {@link PostTaskDto} is streamed into
+ * the unlogged {@code task_import_rows} table with COPY. A single statement
+ * then resolves project names, inserts the staged rows into {@code tasks} and
+ * adds them to {@code projects.task_count} and the task statistics, so the
+ * import either lands completely or not at all.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskImporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String COPY_ROWS = """
+            COPY task_import_rows (job_id, line, title, description, status, priority, due_date, project_name)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String MOVE_ROWS = """
+            WITH projects_by_name AS (
+                SELECT DISTINCT ON (name) id, name
+                FROM projects
+                WHERE user_id = :userId
+                ORDER BY name, created_at, id
+            ), resolved AS (
+                SELECT r.line, r.title, r.description, r.status, r.priority, r.due_date, r.project_name,
+                       p.id AS project_id
+                FROM task_import_rows r
+                LEFT JOIN projects_by_name p ON p.name = r.project_name
+                WHERE r.job_id = :jobId
+            ), inserted AS (
+                INSERT INTO tasks (title, description, status, priority, due_date, user_id, project_id,
+                                   created_at, updated_at)
+                SELECT title, description, COALESCE(status, 'PENDING'), COALESCE(priority, 'LOW'), due_date,
+                       :userId, project_id, :now, :now
+                FROM resolved
+                WHERE project_name IS NULL OR project_id IS NOT NULL
+                RETURNING project_id, status, priority
+            ), counted AS (
+                UPDATE projects p
+                SET task_count = p.task_count + c.total, updated_at = :now
+                FROM (
+                    SELECT project_id, count(*) AS total
+                    FROM inserted
+                    WHERE project_id IS NOT NULL
+                    GROUP BY project_id
+                ) c
+                WHERE p.id = c.project_id
+                RETURNING p.id
+            ), user_stats AS (
+                INSERT INTO user_task_stats AS s (user_id, status, priority, task_count)
+                SELECT :userId, status, priority, count(*)
+                FROM inserted
+                GROUP BY status, priority
+                ORDER BY status, priority
+                ON CONFLICT (user_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count
+            ), project_stats AS (
+                INSERT INTO project_task_stats AS s (project_id, status, priority, task_count)
+                SELECT project_id, status, priority, count(*)
+                FROM inserted
+                WHERE project_id IS NOT NULL
+                GROUP BY project_id, status, priority
+                ORDER BY project_id, status, priority
+                ON CONFLICT (project_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count
+            ), unresolved AS (
+                INSERT INTO task_import_errors (job_id, line, field, message)
+                SELECT :jobId, line, 'project', 'Project not found with name: ''' || project_name || ''''
+                FROM resolved
+                WHERE project_name IS NOT NULL AND project_id IS NULL
+                ORDER BY line
+                LIMIT :errorLimit
+            )
+            SELECT (SELECT count(*) FROM inserted) AS imported,
+                   (SELECT count(*) FROM resolved WHERE project_name IS NOT NULL AND project_id IS NULL) AS unresolved,
+                   ARRAY(SELECT id FROM counted) AS project_ids
+            """;
+
+    private static final String INSERT_ERROR = """
+            INSERT INTO task_import_errors (job_id, line, field, message)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CollectionVersionService collectionVersionService;
+    private final EntityCacheService entityCacheService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${task-import.max-errors}")
+    private int maxErrors;
+
+    @Value("${task-import.progress-interval}")
+    private int progressInterval;
+
+    public void importTasks(UUID jobId, UUID userId, TaskExportFormat format, Path file) {
+        jdbcTemplate.update("UPDATE task_import_jobs SET status = 'RUNNING', updated_at = ? WHERE id = ?",
+                now(), jobId);
+        Progress progress = new Progress(jobId);
+        try {
+            stage(file, format, progress);
+            progress.flush();
+            complete(userId, progress);
+        } catch (Exception e) {
+            log.error("Task import {} failed", jobId, e);
+            fail(progress);
+        }
+    }
+
+    private void stage(Path file, TaskExportFormat format, Progress progress) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection();
+                BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), COPY_ROWS, BUFFER_SIZE);
+            boolean staged = false;
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8),
+                        BUFFER_SIZE);
+                switch (format) {
+                    case NDJSON -> readNdjson(reader, writer, progress);
+                    case CSV -> readCsv(reader, writer, progress);
+                }
+                writer.flush();
+                copyStream.endCopy();
+                staged = true;
+            } finally {
+                if (!staged && copyStream.isActive()) {
+                    copyStream.cancelCopy();
+                }
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Writer writer, Progress progress) throws IOException {
+        long line = 0;
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(json);
+            } catch (JsonProcessingException e) {
+                node = null;
+            }
+            if (node == null || !node.isObject()) {
+                progress.fail(line, List.of(FieldErrorDto.of(null, "Row must be a JSON object")));
+                continue;
+            }
+            JsonNode project = node.get("project");
+            String projectName = project != null && project.isObject() ? text(project.get("name")) : text(project);
+            accept(writer, progress, line, PostTaskDto.builder()
+                    .title(text(node.get("title")))
+                    .description(text(node.get("description")))
+                    .status(text(node.get("status")))
+                    .priority(text(node.get("priority")))
+                    .dueDate(text(node.get("dueDate")))
+                    .build(),
+                    projectName != null ? projectName : text(node.get("projectName")));
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Writer writer, Progress progress) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> record;
+        while ((record = csvReader.readRecord()) != null) {
+            String projectName = column(record, columns, "projectname");
+            accept(writer, progress, csvReader.getRecordLine(), PostTaskDto.builder()
+                    .title(column(record, columns, "title"))
+                    .description(column(record, columns, "description"))
+                    .status(column(record, columns, "status"))
+                    .priority(column(record, columns, "priority"))
+                    .dueDate(column(record, columns, "duedate"))
+                    .build(),
+                    projectName != null ? projectName : column(record, columns, "project"));
+        }
+    }
+
+    private void accept(Writer writer, Progress progress, long line, PostTaskDto task, String projectName)
+            throws IOException {
+        List<FieldErrorDto> errors = new ArrayList<>();
+        validator.validate(task).forEach(violation -> errors.add(
+                FieldErrorDto.of(violation.getPropertyPath().toString(), violation.getMessage())));
+        LocalDate dueDate = null;
+        if (errors.isEmpty() && task.getDueDate() != null) {
+            try {
+                dueDate = LocalDate.parse(task.getDueDate());
+            } catch (DateTimeParseException e) {
+                errors.add(FieldErrorDto.of("dueDate", "Due date must be a valid date"));
+            }
+        }
+        if (!errors.isEmpty()) {
+            progress.fail(line, errors);
+            return;
+        }
+        writeCsvRow(writer,
+                progress.jobId.toString(),
+                Long.toString(line),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getPriority(),
+                dueDate != null ? dueDate.toString() : null,
+                projectName);
+        progress.succeed();
+    }
+
+    private void complete(UUID userId, Progress progress) {
+        transactionTemplate.executeWithoutResult(transaction -> {
+            collectionVersionService.bump(userId);
+            LocalDateTime now = now();
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("jobId", progress.jobId)
+                    .addValue("userId", userId)
+                    .addValue("now", now)
+                    .addValue("errorLimit", Math.max(maxErrors - progress.storedErrors, 0));
+            MovedRows moved = namedParameterJdbcTemplate.queryForObject(MOVE_ROWS, parameters,
+                    (resultSet, rowNum) -> new MovedRows(
+                            resultSet.getLong("imported"),
+                            resultSet.getLong("unresolved"),
+                            (UUID[]) resultSet.getArray("project_ids").getArray()));
+            for (UUID projectId : moved.projectIds()) {
+                entityCacheService.evict(Project.class, projectId);
+            }
+            jdbcTemplate.update("DELETE FROM task_import_rows WHERE job_id = ?", progress.jobId);
+            jdbcTemplate.update("""
+                    UPDATE task_import_jobs
+                    SET status = 'COMPLETED', processed_rows = ?, imported_rows = ?, failed_rows = ?,
+                        updated_at = ?, completed_at = ?
+                    WHERE id = ?
+                    """, progress.processed, moved.imported(), progress.failed + moved.unresolved(), now, now,
+                    progress.jobId);
+        });
+    }
+
+    private void fail(Progress progress) {
+        jdbcTemplate.update("DELETE FROM task_import_rows WHERE job_id = ?", progress.jobId);
+        jdbcTemplate.update("""
+                UPDATE task_import_jobs
+                SET status = 'FAILED', error = ?, updated_at = ?, completed_at = ?
+                WHERE id = ?
+                """, "The import could not be completed, no tasks were created", now(), now(), progress.jobId);
+    }
+
+    private void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write('"');
+                writer.write(values[i].replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isContainerNode()) {
+            return null;
+        }
+        String value = node.asText();
+        return value.isEmpty() ? null : value;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private record MovedRows(long imported, long unresolved, UUID[] projectIds) {
+    }
+
+    /**
+     * Counts rows as they are parsed and periodically publishes the counts
+     * together with the rejected rows, so the job can be polled while the file
+     * is still being read. At most {@code task-import.max-errors} rows are
+     * kept in the error report, but every failure is counted.
+     */
+    private class Progress {
+
+        private final UUID jobId;
+        private final List<Object[]> pendingErrors = new ArrayList<>();
+        private long processed;
+        private long failed;
+        private int storedErrors;
+
+        private Progress(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        private void succeed() {
+            processed++;
+            publishPeriodically();
+        }
+
+        private void fail(long line, List<FieldErrorDto> errors) {
+            processed++;
+            failed++;
+            for (FieldErrorDto error : errors) {
+                if (storedErrors < maxErrors) {
+                    pendingErrors.add(new Object[] { jobId, line, error.getField(), error.getMessage() });
+                    storedErrors++;
+                }
+            }
+            publishPeriodically();
+        }
+
+        private void publishPeriodically() {
+            if (processed % progressInterval == 0) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!pendingErrors.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ERROR, pendingErrors);
+                pendingErrors.clear();
+            }
+            jdbcTemplate.update("""
+                    UPDATE task_import_jobs
+                    SET processed_rows = ?, failed_rows = ?, updated_at = ?
+                    WHERE id = ?
+                    """, processed, failed, now(), jobId);
+        }
+
+    }
+
+}
@@ -4,9 +4,12 @@ import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import andrehsvictor.dotask.project.dto.GetProjectDto;
 import andrehsvictor.dotask.task.dto.GetTaskDto;
+import andrehsvictor.dotask.task.dto.GetTaskImportJobDto;
 import andrehsvictor.dotask.task.dto.PostTaskDto;
 import andrehsvictor.dotask.task.dto.PutTaskDto;
 
@@ -16,8 +19,21 @@ public interface TaskMapper {
 
     GetTaskDto taskToGetTaskDto(Task task);
 
-    @Mapping(target = "priority", expression = "java(TaskPriority.fromString(postTaskDto.getPriority()))")
-    @Mapping(target = "status", expression = "java(TaskStatus.fromString(postTaskDto.getStatus()))")
+    @Mapping(target = "project", expression = "java(taskSummary.projectId() != null ? taskSummaryToGetProjectDto(taskSummary) : null)")
+    GetTaskDto taskSummaryToGetTaskDto(TaskSummary taskSummary);
+
+    @Named("taskSummaryToGetProjectDto")
+    @Mapping(target = "id", source = "projectId")
+    @Mapping(target = "name", source = "projectName")
+    @Mapping(target = "description", source = "projectDescription")
+    @Mapping(target = "color", source = "projectColor")
+    @Mapping(target = "taskCount", source = "projectTaskCount")
+    @Mapping(target = "createdAt", source = "projectCreatedAt")
+    @Mapping(target = "updatedAt", source = "projectUpdatedAt")
+    GetProjectDto taskSummaryToGetProjectDto(TaskSummary taskSummary);
+
+    @Mapping(target = "priority", expression = "java(postTaskDto.getPriority() != null ? TaskPriority.fromString(postTaskDto.getPriority()) : TaskPriority.LOW)")
+    @Mapping(target = "status", expression = "java(postTaskDto.getStatus() != null ? TaskStatus.fromString(postTaskDto.getStatus()) : TaskStatus.PENDING)")
     Task postTaskDtoToTask(PostTaskDto postTaskDto);
 
     @Mapping(target = "priority", expression = "java(TaskPriority.fromString(putTaskDto.getPriority()))")
@@ -27,6 +43,9 @@ public interface TaskMapper {
             @MappingTarget Task task,
             PutTaskDto putTaskDto);
 
+    @Mapping(target = "errors", ignore = true)
+    GetTaskImportJobDto taskImportJobToGetTaskImportJobDto(TaskImportJob taskImportJob);
+
     default void afterMapping(
             @MappingTarget Task task,
             PutTaskDto putTaskDto) {
@@ -1,43 +1,111 @@
 package andrehsvictor.dotask.task;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 
+import andrehsvictor.dotask.etag.ResourceVersion;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 
 public interface TaskRepository extends JpaRepository<Task, UUID> {
 
-    Page<Task> findAllByUserId(UUID userId, Pageable pageable);
+    String TASK_SUMMARY = """
+            SELECT new andrehsvictor.dotask.task.TaskSummary(
+                t.id, t.title, t.description, t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt,
+                p.id, p.name, p.description, p.color, p.taskCount, p.createdAt, p.updatedAt)
+            """;
 
-    @Query("""
-            SELECT t
+    String PROJECT_TASK_FILTERS = """
             FROM Task t
+            JOIN t.project p
             WHERE t.user.id = :userId
-            AND t.project.id = :projectId
-            AND (
-                LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
-                OR LOWER(t.project.name) LIKE LOWER(CONCAT('%', :query, '%'))
-                OR :query IS NULL
-            )
+            AND p.id = :projectId
             AND (:status IS NULL OR t.status = :status)
             AND (:priority IS NULL OR t.priority = :priority)
             AND (t.dueDate >= :startDate OR CAST(:startDate AS date) IS NULL)
             AND (t.dueDate <= :endDate OR CAST(:endDate AS date) IS NULL)
-            """)
+            """;
+
+    String TASK_FILTERS = """
+            FROM Task t
+            LEFT JOIN t.project p
+            WHERE t.user.id = :userId
+            AND (:status IS NULL OR t.status = :status)
+            AND (:priority IS NULL OR t.priority = :priority)
+            AND (t.dueDate >= :startDate OR CAST(:startDate AS date) IS NULL)
+            AND (t.dueDate <= :endDate OR CAST(:endDate AS date) IS NULL)
+            AND (:hasProject IS NULL OR
+                 (:hasProject = TRUE AND t.project IS NOT NULL) OR
+                 (:hasProject = FALSE AND t.project IS NULL)
+                )
+            """;
+
+    /**
+     * Search predicates are only appended when there is a search query. An
+     * "OR :query IS NULL" escape hatch would keep PostgreSQL from using the
+     * trigram indexes in generic plans of prepared statements.
+     */
+    String PROJECT_TASK_MATCHING = """
+            AND (
+                LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
+                OR LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%'))
+            )
+            """;
+
+    String TASK_MATCHING = """
+            AND (
+                LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
+                OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%'))
+            )
+            """;
+
+    String NEWEST_FIRST = """
+            ORDER BY t.createdAt DESC, t.id DESC
+            """;
+
+    String AFTER_CURSOR = """
+            AND t.createdAt <= :cursorCreatedAt
+            AND (t.createdAt < :cursorCreatedAt OR t.id < :cursorId)
+            """ + NEWEST_FIRST;
+
+    Page<Task> findAllByUserId(UUID userId, Pageable pageable);
+
+    @Query(value = TASK_SUMMARY + PROJECT_TASK_FILTERS, countQuery = "SELECT COUNT(t) " + PROJECT_TASK_FILTERS)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "100"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Page<TaskSummary> findAllByUserIdAndProjectIdWithFilters(
+            UUID userId,
+            UUID projectId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            Pageable pageable);
+
+    @Query(value = TASK_SUMMARY + PROJECT_TASK_FILTERS + PROJECT_TASK_MATCHING,
+            countQuery = "SELECT COUNT(t) " + PROJECT_TASK_FILTERS + PROJECT_TASK_MATCHING)
     @QueryHints({
             @QueryHint(name = "org.hibernate.fetchSize", value = "100"),
             @QueryHint(name = "org.hibernate.readOnly", value = "true")
     })
-    Page<Task> findAllByUserIdAndProjectIdWithFilters(
+    Page<TaskSummary> findAllByUserIdAndProjectIdWithFiltersMatching(
             UUID userId,
             UUID projectId,
             String query,
@@ -48,29 +116,47 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
             Boolean hasProject,
             Pageable pageable);
 
-    @Query("""
-            SELECT t
-            FROM Task t
-            WHERE t.user.id = :userId
-            AND (
-                LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
-                OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%'))
-                OR :query IS NULL
-            )
-            AND (:status IS NULL OR t.status = :status)
-            AND (:priority IS NULL OR t.priority = :priority)
-            AND (t.dueDate >= :startDate OR CAST(:startDate AS date) IS NULL)
-            AND (t.dueDate <= :endDate OR CAST(:endDate AS date) IS NULL)
-            AND (:hasProject IS NULL OR
-                 (:hasProject = TRUE AND t.project IS NOT NULL) OR
-                 (:hasProject = FALSE AND t.project IS NULL)
-                )
-            """)
+    @Query(value = TASK_SUMMARY + TASK_FILTERS, countQuery = "SELECT COUNT(t) " + TASK_FILTERS)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "100"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Page<TaskSummary> findAllByUserIdWithFilters(
+            UUID userId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            Pageable pageable);
+
+    @Query(value = TASK_SUMMARY + TASK_FILTERS + TASK_MATCHING,
+            countQuery = "SELECT COUNT(t) " + TASK_FILTERS + TASK_MATCHING)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "100"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Page<TaskSummary> findAllByUserIdWithFiltersMatching(
+            UUID userId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            Pageable pageable);
+
+    @Query(value = TASK_SUMMARY + TASK_FILTERS + TASK_MATCHING + """
+            ORDER BY GREATEST(
+                CAST(similarity(LOWER(t.title), LOWER(:query)) AS Double),
+                CAST(similarity(LOWER(COALESCE(t.description, '')), LOWER(:query)) AS Double)
+            ) DESC, t.createdAt DESC, t.id DESC
+            """, countQuery = "SELECT COUNT(t) " + TASK_FILTERS + TASK_MATCHING)
     @QueryHints({
             @QueryHint(name = "org.hibernate.fetchSize", value = "100"),
             @QueryHint(name = "org.hibernate.readOnly", value = "true")
     })
-    Page<Task> findAllByUserIdWithFilters(
+    Page<TaskSummary> findAllByUserIdWithFiltersRankedByRelevance(
             UUID userId,
             String query,
             TaskStatus status,
@@ -80,8 +166,169 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
             Boolean hasProject,
             Pageable pageable);
 
+    @Query(TASK_SUMMARY + PROJECT_TASK_FILTERS + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findLatestByUserIdAndProjectIdWithFilters(
+            UUID userId,
+            UUID projectId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + PROJECT_TASK_FILTERS + PROJECT_TASK_MATCHING + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findLatestByUserIdAndProjectIdWithFiltersMatching(
+            UUID userId,
+            UUID projectId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + PROJECT_TASK_FILTERS + AFTER_CURSOR)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findAllByUserIdAndProjectIdWithFiltersAfter(
+            UUID userId,
+            UUID projectId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            LocalDateTime cursorCreatedAt,
+            UUID cursorId,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + PROJECT_TASK_FILTERS + PROJECT_TASK_MATCHING + AFTER_CURSOR)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findAllByUserIdAndProjectIdWithFiltersMatchingAfter(
+            UUID userId,
+            UUID projectId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            LocalDateTime cursorCreatedAt,
+            UUID cursorId,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + TASK_FILTERS + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findLatestByUserIdWithFilters(
+            UUID userId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + TASK_FILTERS + TASK_MATCHING + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findLatestByUserIdWithFiltersMatching(
+            UUID userId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + TASK_FILTERS + AFTER_CURSOR)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findAllByUserIdWithFiltersAfter(
+            UUID userId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            LocalDateTime cursorCreatedAt,
+            UUID cursorId,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + TASK_FILTERS + TASK_MATCHING + AFTER_CURSOR)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<TaskSummary> findAllByUserIdWithFiltersMatchingAfter(
+            UUID userId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject,
+            LocalDateTime cursorCreatedAt,
+            UUID cursorId,
+            Limit limit);
+
+    @Query(TASK_SUMMARY + TASK_FILTERS + NEWEST_FIRST)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<TaskSummary> streamAllByUserIdWithFilters(
+            UUID userId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject);
+
+    @Query(TASK_SUMMARY + TASK_FILTERS + TASK_MATCHING + NEWEST_FIRST)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<TaskSummary> streamAllByUserIdWithFiltersMatching(
+            UUID userId,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject);
+
+    @EntityGraph(attributePaths = "project")
     Optional<Task> findByIdAndUserId(UUID id, UUID userId);
 
-    List<Task> findAllByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Task> findForUpdateByIdAndUserId(UUID id, UUID userId);
+
+    @Query("""
+            SELECT new andrehsvictor.dotask.etag.ResourceVersion(t.id, t.updatedAt, p.updatedAt)
+            FROM Task t
+            LEFT JOIN t.project p
+            WHERE t.id = :id
+            AND t.user.id = :userId
+            """)
+    Optional<ResourceVersion> findVersionByIdAndUserId(UUID id, UUID userId);
+
+    @Query(value = """
+            DELETE FROM tasks
+            WHERE user_id = :userId
+            AND id IN (:ids)
+            RETURNING project_id AS "projectId", status, priority
+            """, nativeQuery = true)
+    List<DeletedTask> deleteAllByUserIdAndIdInReturningTask(UUID userId, Collection<UUID> ids);
+
+    interface DeletedTask {
+
+        UUID getProjectId();
+
+        TaskStatus getStatus();
+
+        TaskPriority getPriority();
+
+        default TaskStatsKey toStatsKey() {
+            return new TaskStatsKey(getProjectId(), getStatus(), getPriority());
+        }
+
+    }
 
-}
\ No newline at end of file
+}
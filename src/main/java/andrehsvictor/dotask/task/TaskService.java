@@ -2,24 +2,49 @@ package andrehsvictor.dotask.task;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import andrehsvictor.dotask.etag.CollectionVersionService;
+import andrehsvictor.dotask.etag.ResourceVersion;
+import andrehsvictor.dotask.exception.InvalidBatchSizeException;
+import andrehsvictor.dotask.exception.PreconditionFailedException;
 import andrehsvictor.dotask.exception.ResourceNotFoundException;
-import andrehsvictor.dotask.jwt.JwtService;
+import andrehsvictor.dotask.exception.dto.FieldErrorDto;
+import andrehsvictor.dotask.pagination.Cursor;
+import andrehsvictor.dotask.pagination.dto.CursorPageDto;
 import andrehsvictor.dotask.project.Project;
 import andrehsvictor.dotask.project.ProjectService;
 import andrehsvictor.dotask.task.dto.GetTaskDto;
+import andrehsvictor.dotask.task.dto.GetTaskStatsDto;
 import andrehsvictor.dotask.task.dto.PostTaskDto;
 import andrehsvictor.dotask.task.dto.PutTaskDto;
+import andrehsvictor.dotask.task.dto.TaskBatchItemResultDto;
+import andrehsvictor.dotask.task.dto.TaskBatchResultDto;
 import andrehsvictor.dotask.user.User;
 import andrehsvictor.dotask.user.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -29,23 +54,66 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final UserService userService;
-    private final JwtService jwtService;
     private final ProjectService projectService;
+    private final CollectionVersionService collectionVersionService;
+    private final TaskStatsService taskStatsService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    @Value("${pagination.cursor.max-limit}")
+    private int maxCursorPageSize;
+
+    @Value("${bulk-delete.chunk-size}")
+    private int bulkDeleteChunkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int jdbcBatchSize;
+
+    @Value("${bulk-create.max-size}")
+    private int maxBatchSize;
 
     public GetTaskDto toDto(Task task) {
         return taskMapper.taskToGetTaskDto(task);
     }
 
-    public Page<Task> findAllWithFilters(
+    public GetTaskDto toDto(TaskSummary taskSummary) {
+        return taskMapper.taskSummaryToGetTaskDto(taskSummary);
+    }
+
+    public Page<TaskSummary> findAllWithFilters(
+            UUID userId,
             String query,
             TaskStatus status,
             TaskPriority priority,
             LocalDate startDate,
             LocalDate endDate,
             Boolean hasProject,
+            boolean rankByRelevance,
             Pageable pageable) {
-        UUID userId = jwtService.getCurrentUserUuid();
-        return taskRepository.findAllByUserIdWithFilters(
+        if (query == null) {
+            return taskRepository.findAllByUserIdWithFilters(
+                    userId,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    pageable);
+        }
+        if (rankByRelevance) {
+            return taskRepository.findAllByUserIdWithFiltersRankedByRelevance(
+                    userId,
+                    query,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    pageable);
+        }
+        return taskRepository.findAllByUserIdWithFiltersMatching(
                 userId,
                 query,
                 status,
@@ -56,7 +124,8 @@ public class TaskService {
                 pageable);
     }
 
-    public Page<Task> findAllByProjectIdWithFilters(
+    public Page<TaskSummary> findAllByProjectIdWithFilters(
+            UUID userId,
             UUID projectId,
             String query,
             TaskStatus status,
@@ -65,8 +134,18 @@ public class TaskService {
             LocalDate endDate,
             Boolean hasProject,
             Pageable pageable) {
-        UUID userId = jwtService.getCurrentUserUuid();
-        return taskRepository.findAllByUserIdAndProjectIdWithFilters(
+        if (query == null) {
+            return taskRepository.findAllByUserIdAndProjectIdWithFilters(
+                    userId,
+                    projectId,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    pageable);
+        }
+        return taskRepository.findAllByUserIdAndProjectIdWithFiltersMatching(
                 userId,
                 projectId,
                 query,
@@ -78,34 +157,256 @@ public class TaskService {
                 pageable);
     }
 
+    public CursorPageDto<TaskSummary> findAllWithFilters(
+            UUID userId,
+            String cursor,
+            int limit,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            Boolean hasProject) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = toPageSize(limit);
+        Limit pageLimit = Limit.of(pageSize + 1);
+        List<TaskSummary> tasks;
+        if (query == null && position == null) {
+            tasks = taskRepository.findLatestByUserIdWithFilters(
+                    userId,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    pageLimit);
+        } else if (query == null) {
+            tasks = taskRepository.findAllByUserIdWithFiltersAfter(
+                    userId,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    position.createdAt(),
+                    position.id(),
+                    pageLimit);
+        } else if (position == null) {
+            tasks = taskRepository.findLatestByUserIdWithFiltersMatching(
+                    userId,
+                    query,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    pageLimit);
+        } else {
+            tasks = taskRepository.findAllByUserIdWithFiltersMatchingAfter(
+                    userId,
+                    query,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    hasProject,
+                    position.createdAt(),
+                    position.id(),
+                    pageLimit);
+        }
+        return CursorPageDto.of(tasks, pageSize, task -> new Cursor(task.createdAt(), task.id()));
+    }
+
+    public CursorPageDto<TaskSummary> findAllByProjectIdWithFilters(
+            UUID userId,
+            UUID projectId,
+            String cursor,
+            int limit,
+            String query,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate startDate,
+            LocalDate endDate) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = toPageSize(limit);
+        Limit pageLimit = Limit.of(pageSize + 1);
+        List<TaskSummary> tasks;
+        if (query == null && position == null) {
+            tasks = taskRepository.findLatestByUserIdAndProjectIdWithFilters(
+                    userId,
+                    projectId,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    pageLimit);
+        } else if (query == null) {
+            tasks = taskRepository.findAllByUserIdAndProjectIdWithFiltersAfter(
+                    userId,
+                    projectId,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    position.createdAt(),
+                    position.id(),
+                    pageLimit);
+        } else if (position == null) {
+            tasks = taskRepository.findLatestByUserIdAndProjectIdWithFiltersMatching(
+                    userId,
+                    projectId,
+                    query,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    pageLimit);
+        } else {
+            tasks = taskRepository.findAllByUserIdAndProjectIdWithFiltersMatchingAfter(
+                    userId,
+                    projectId,
+                    query,
+                    status,
+                    priority,
+                    startDate,
+                    endDate,
+                    position.createdAt(),
+                    position.id(),
+                    pageLimit);
+        }
+        return CursorPageDto.of(tasks, pageSize, task -> new Cursor(task.createdAt(), task.id()));
+    }
+
+    private int toPageSize(int limit) {
+        return Math.clamp(limit, 1, maxCursorPageSize);
+    }
+
     @Transactional
-    public Task create(PostTaskDto postTaskDto) {
+    public Task create(UUID userId, PostTaskDto postTaskDto) {
         Task task = taskMapper.postTaskDtoToTask(postTaskDto);
-        User user = userService.findMe();
+        User user = userService.getReferenceById(userId);
         task.setUser(user);
         task.setProject(null);
+        collectionVersionService.bump(userId);
+        taskStatsService.add(userId, TaskStatsKey.of(task), 1);
         return taskRepository.save(task);
     }
 
     @Transactional
-    public Task create(UUID projectId, PostTaskDto postTaskDto) {
+    public Task create(UUID userId, UUID projectId, PostTaskDto postTaskDto) {
         Task task = taskMapper.postTaskDtoToTask(postTaskDto);
-        User user = userService.findMe();
-        Project project = projectService.findById(projectId);
+        User user = userService.getReferenceById(userId);
+        collectionVersionService.bump(userId);
+        Project project = projectService.findById(userId, projectId);
+        projectService.incrementTaskCount(project, 1);
         task.setUser(user);
         task.setProject(project);
+        taskStatsService.add(userId, TaskStatsKey.of(task), 1);
         return taskRepository.save(task);
     }
 
-    public Task findById(UUID id) {
-        UUID userId = jwtService.getCurrentUserUuid();
+    @Transactional
+    public TaskBatchResultDto createAll(UUID userId, List<PostTaskDto> postTaskDtos) {
+        return createAll(userId, null, postTaskDtos);
+    }
+
+    @Transactional
+    public TaskBatchResultDto createAll(UUID userId, UUID projectId, List<PostTaskDto> postTaskDtos) {
+        if (postTaskDtos == null || postTaskDtos.isEmpty() || postTaskDtos.size() > maxBatchSize) {
+            throw new InvalidBatchSizeException(maxBatchSize);
+        }
+
+        Map<Integer, List<FieldErrorDto>> errorsByIndex = new HashMap<>();
+        List<Task> tasks = new ArrayList<>(postTaskDtos.size());
+        for (int i = 0; i < postTaskDtos.size(); i++) {
+            PostTaskDto postTaskDto = postTaskDtos.get(i);
+            List<FieldErrorDto> errors = new ArrayList<>();
+            validator.validate(postTaskDto).forEach(violation -> errors.add(
+                    FieldErrorDto.of(violation.getPropertyPath().toString(), violation.getMessage())));
+            if (errors.isEmpty() && postTaskDto.getDueDate() != null) {
+                try {
+                    LocalDate.parse(postTaskDto.getDueDate());
+                } catch (DateTimeParseException e) {
+                    errors.add(FieldErrorDto.of("dueDate", "Due date must be a valid date"));
+                }
+            }
+            if (errors.isEmpty()) {
+                tasks.add(taskMapper.postTaskDtoToTask(postTaskDto));
+            } else {
+                errorsByIndex.put(i, errors);
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            collectionVersionService.bump(userId);
+            User user = userService.getReferenceById(userId);
+            Project project = null;
+            if (projectId != null) {
+                project = projectService.findById(userId, projectId);
+                projectService.incrementTaskCount(project, tasks.size());
+            }
+            Map<TaskStatsKey, Long> statsDeltas = new HashMap<>();
+            for (Task task : tasks) {
+                task.setUser(user);
+                task.setProject(project);
+                statsDeltas.merge(TaskStatsKey.of(task), 1L, Long::sum);
+            }
+            taskStatsService.addAll(userId, statsDeltas);
+            for (int from = 0; from < tasks.size(); from += jdbcBatchSize) {
+                List<Task> chunk = tasks.subList(from, Math.min(from + jdbcBatchSize, tasks.size()));
+                taskRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        Iterator<Task> saved = tasks.iterator();
+
+        List<TaskBatchItemResultDto> results = new ArrayList<>(postTaskDtos.size());
+        for (int i = 0; i < postTaskDtos.size(); i++) {
+            List<FieldErrorDto> errors = errorsByIndex.get(i);
+            results.add(TaskBatchItemResultDto.builder()
+                    .index(i)
+                    .created(errors == null)
+                    .task(errors == null ? toDto(saved.next()) : null)
+                    .errors(errors)
+                    .build());
+        }
+        return TaskBatchResultDto.builder()
+                .created(tasks.size())
+                .failed(errorsByIndex.size())
+                .results(results)
+                .build();
+    }
+
+    public Task findById(UUID userId, UUID id) {
         return taskRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException(Task.class, "ID", id));
     }
 
+    public ResourceVersion findVersion(UUID userId, UUID id) {
+        return taskRepository.findVersionByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(Task.class, "ID", id));
+    }
+
+    public ResourceVersion versionOf(Task task) {
+        Project project = task.getProject();
+        return new ResourceVersion(task.getId(), task.getUpdatedAt(), project != null ? project.getUpdatedAt() : null);
+    }
+
+    /**
+     * Updates the task if {@code precondition} accepts its current version.
+     * The task is locked before the check, so no other write can change it
+     * between the check and the update.
+     */
     @Transactional
-    public Task update(UUID id, PutTaskDto putTaskDto) {
-        Task task = findById(id);
+    public Task update(UUID userId, UUID id, PutTaskDto putTaskDto, Predicate<ResourceVersion> precondition) {
+        collectionVersionService.bump(userId);
+        Task task = taskRepository.findForUpdateByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(Task.class, "ID", id));
+        if (!precondition.test(versionOf(task))) {
+            throw new PreconditionFailedException(Task.class);
+        }
+        TaskStatsKey originalStatsKey = TaskStatsKey.of(task);
         TaskStatus originalStatus = task.getStatus();
         taskMapper.updateTaskFromPutTaskDto(task, putTaskDto);
         if (putTaskDto.getStatus() != null) {
@@ -117,40 +418,70 @@ public class TaskService {
             }
             task.setStatus(newStatus);
         }
+        taskStatsService.move(userId, originalStatsKey, TaskStatsKey.of(task));
         return taskRepository.save(task);
     }
 
     @Transactional
-    public void delete(UUID id) {
-        Task task = findById(id);
+    public void delete(UUID userId, UUID id) {
+        collectionVersionService.bump(userId);
+        Task task = findById(userId, id);
         if (task.getProject() != null) {
-            projectService.decrementTaskCount(task.getProject());
+            projectService.decrementTaskCount(task.getProject().getId());
         }
         taskRepository.delete(task);
+        taskStatsService.add(userId, TaskStatsKey.of(task), -1);
     }
 
-    @Transactional
-    public void deleteAllByIdIn(Collection<UUID> ids) {
-        UUID userId = jwtService.getCurrentUserUuid();
-        List<Task> tasks = taskRepository.findAllByUserIdAndIdIn(userId, ids);
-        for (Task task : tasks) {
-            if (task.getProject() != null) {
-                projectService.decrementTaskCount(task.getProject());
-            }
+    public int deleteAllByIdIn(UUID userId, Collection<UUID> ids) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += bulkDeleteChunkSize) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + bulkDeleteChunkSize, distinctIds.size()));
+            deleted += transactionTemplate.execute(status -> deleteChunk(userId, chunk));
+        }
+        return deleted;
+    }
+
+    private int deleteChunk(UUID userId, List<UUID> ids) {
+        collectionVersionService.bump(userId);
+        List<TaskStatsKey> statsKeys = taskRepository.deleteAllByUserIdAndIdInReturningTask(userId, ids).stream()
+                .map(TaskRepository.DeletedTask::toStatsKey)
+                .toList();
+        Map<UUID, Long> taskCountsByProjectId = statsKeys.stream()
+                .map(TaskStatsKey::projectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()));
+        projectService.decrementTaskCounts(taskCountsByProjectId);
+        if (!statsKeys.isEmpty()) {
+            taskStatsService.addAll(userId, statsKeys.stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.summingLong(key -> -1L))));
         }
-        taskRepository.deleteAll(tasks);
+        return statsKeys.size();
     }
 
     @Transactional
-    public Task patchStatus(UUID id, TaskStatus status) {
-        Task task = findById(id);
+    public Task patchStatus(UUID userId, UUID id, TaskStatus status) {
+        collectionVersionService.bump(userId);
+        Task task = findById(userId, id);
+        TaskStatsKey originalStatsKey = TaskStatsKey.of(task);
         task.setStatus(status);
         if (status == TaskStatus.COMPLETED) {
             task.setCompletedAt(LocalDateTime.now());
         } else {
             task.setCompletedAt(null);
         }
+        taskStatsService.move(userId, originalStatsKey, TaskStatsKey.of(task));
         return taskRepository.save(task);
     }
 
+    public GetTaskStatsDto findStats(UUID userId) {
+        return taskStatsService.findByUserId(userId);
+    }
+
+    public GetTaskStatsDto findStatsByProjectId(UUID userId, UUID projectId) {
+        projectService.findById(userId, projectId);
+        return taskStatsService.findByProjectId(projectId);
+    }
+
 }
@@ -0,0 +1,18 @@
+package andrehsvictor.dotask.task;
+
+import java.util.UUID;
+
+/**
+ * The counter a task contributes to in the task statistics: its project, or
+ * none, its status and its priority.
+ */
+public record TaskStatsKey(UUID projectId, TaskStatus status, TaskPriority priority) {
+
+    public static TaskStatsKey of(Task task) {
+        return new TaskStatsKey(
+                task.getProject() != null ? task.getProject().getId() : null,
+                task.getStatus(),
+                task.getPriority());
+    }
+
+}
@@ -0,0 +1,157 @@
+package andrehsvictor.dotask.task;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recounts the task statistics of every user from their tasks once a night,
+ * repairing counters that drifted through writes that bypass
+ * {@link TaskStatsService}, such as manual SQL. Each user is recounted in its
+ * own short transaction that first locks the user's collection version row.
+ * Every task and project write bumps that row before touching anything else,
+ * so the user's writes wait for the count and the correction to commit, and
+ * the counters they then change were already corrected. The row is created
+ * with version 0 when the user never wrote anything, since that is the
+ * version reported for a missing row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskStatsReconciler {
+
+    private static final String FIND_USER_IDS = """
+            SELECT id
+            FROM users
+            WHERE (CAST(? AS UUID) IS NULL OR id > ?)
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String CREATE_COLLECTION_VERSION = """
+            INSERT INTO collection_versions (user_id, version)
+            SELECT id, 0
+            FROM users
+            WHERE id = :userId
+            ON CONFLICT (user_id) DO NOTHING
+            """;
+
+    private static final String LOCK_COLLECTION_VERSION = """
+            SELECT version
+            FROM collection_versions
+            WHERE user_id = :userId
+            FOR UPDATE
+            """;
+
+    private static final String RECONCILE_USER_STATS = """
+            WITH actual AS (
+                SELECT status, priority, count(*) AS task_count
+                FROM tasks
+                WHERE user_id = :userId
+                GROUP BY status, priority
+            ), removed AS (
+                DELETE FROM user_task_stats s
+                WHERE s.user_id = :userId
+                AND NOT EXISTS (
+                    SELECT 1
+                    FROM actual a
+                    WHERE a.status = s.status
+                    AND a.priority = s.priority
+                )
+                RETURNING s.task_count
+            ), corrected AS (
+                INSERT INTO user_task_stats AS s (user_id, status, priority, task_count)
+                SELECT :userId, status, priority, task_count
+                FROM actual
+                ORDER BY status, priority
+                ON CONFLICT (user_id, status, priority) DO UPDATE SET task_count = EXCLUDED.task_count
+                WHERE s.task_count <> EXCLUDED.task_count
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM removed WHERE task_count <> 0)
+                 + (SELECT count(*) FROM corrected)
+            """;
+
+    private static final String RECONCILE_PROJECT_STATS = """
+            WITH actual AS (
+                SELECT project_id, status, priority, count(*) AS task_count
+                FROM tasks
+                WHERE user_id = :userId
+                AND project_id IS NOT NULL
+                GROUP BY project_id, status, priority
+            ), removed AS (
+                DELETE FROM project_task_stats s
+                USING projects p
+                WHERE p.id = s.project_id
+                AND p.user_id = :userId
+                AND NOT EXISTS (
+                    SELECT 1
+                    FROM actual a
+                    WHERE a.project_id = s.project_id
+                    AND a.status = s.status
+                    AND a.priority = s.priority
+                )
+                RETURNING s.task_count
+            ), corrected AS (
+                INSERT INTO project_task_stats AS s (project_id, status, priority, task_count)
+                SELECT project_id, status, priority, task_count
+                FROM actual
+                ORDER BY project_id, status, priority
+                ON CONFLICT (project_id, status, priority) DO UPDATE SET task_count = EXCLUDED.task_count
+                WHERE s.task_count <> EXCLUDED.task_count
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM removed WHERE task_count <> 0)
+                 + (SELECT count(*) FROM corrected)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task-stats.reconciliation.batch-size}")
+    private int batchSize;
+
+    @Scheduled(cron = "${task-stats.reconciliation.cron}")
+    public void reconcileAll() {
+        long corrected = 0;
+        UUID lastUserId = null;
+        List<UUID> userIds;
+        do {
+            userIds = jdbcTemplate.queryForList(FIND_USER_IDS, UUID.class, lastUserId, lastUserId, batchSize);
+            for (UUID userId : userIds) {
+                corrected += reconcile(userId);
+            }
+            if (!userIds.isEmpty()) {
+                lastUserId = userIds.getLast();
+            }
+        } while (userIds.size() == batchSize);
+        if (corrected > 0) {
+            log.warn("Corrected {} task statistics counters", corrected);
+        }
+    }
+
+    /**
+     * Returns the number of counters of the user that had to be corrected.
+     */
+    public long reconcile(UUID userId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId);
+        return transactionTemplate.execute(status -> {
+            namedParameterJdbcTemplate.update(CREATE_COLLECTION_VERSION, parameters);
+            namedParameterJdbcTemplate.queryForList(LOCK_COLLECTION_VERSION, parameters, Long.class);
+            return namedParameterJdbcTemplate.queryForObject(RECONCILE_USER_STATS, parameters, Long.class)
+                    + namedParameterJdbcTemplate.queryForObject(RECONCILE_PROJECT_STATS, parameters, Long.class);
+        });
+    }
+
+}
@@ -0,0 +1,243 @@
+package andrehsvictor.dotask.task;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import andrehsvictor.dotask.task.dto.GetTaskStatsDto;
+import andrehsvictor.dotask.task.dto.TaskCountsDto;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the number of tasks per status and priority of every user and project
+ * in {@code user_task_stats} and {@code project_task_stats}. Every task write
+ * adds its delta to these rows in the writer's transaction, so reading the
+ * statistics costs a handful of rows no matter how many tasks there are. Only
+ * overdue tasks are counted at read time, since they change with the date,
+ * from an index on the open tasks' due dates.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService {
+
+    /**
+     * Rows are updated in this order, user rows before project rows, so
+     * concurrent writers wait for each other instead of deadlocking. Project
+     * IDs compare as strings, which is how PostgreSQL orders UUIDs.
+     */
+    private static final Comparator<TaskStatsKey> KEY_ORDER = Comparator
+            .comparing((TaskStatsKey key) -> key.projectId() != null ? key.projectId().toString() : "")
+            .thenComparing(key -> key.status().name())
+            .thenComparing(key -> key.priority().name());
+
+    private static final String ADD_TO_USER_STATS = """
+            INSERT INTO user_task_stats AS s (user_id, status, priority, task_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (user_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count
+            """;
+
+    private static final String ADD_TO_PROJECT_STATS = """
+            INSERT INTO project_task_stats AS s (project_id, status, priority, task_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (project_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count
+            """;
+
+    private static final String LOCK_PROJECTS = """
+            SELECT id
+            FROM projects
+            WHERE user_id = :userId
+            AND id IN (:projectIds)
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    private static final String DELETE_PROJECT_TASKS = """
+            WITH removed AS (
+                DELETE FROM tasks
+                WHERE user_id = :userId
+                AND project_id IN (:projectIds)
+                RETURNING status, priority
+            )
+            INSERT INTO user_task_stats AS s (user_id, status, priority, task_count)
+            SELECT :userId, status, priority, -count(*)
+            FROM removed
+            GROUP BY status, priority
+            ORDER BY status, priority
+            ON CONFLICT (user_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count
+            """;
+
+    private static final String FIND_USER_STATS = """
+            SELECT status, priority, task_count
+            FROM user_task_stats
+            WHERE user_id = ?
+            """;
+
+    private static final String FIND_PROJECT_STATS = """
+            SELECT status, priority, task_count
+            FROM project_task_stats
+            WHERE project_id = ?
+            """;
+
+    private static final String COUNT_USER_OVERDUE = """
+            SELECT priority, count(*) AS task_count
+            FROM tasks
+            WHERE user_id = ?
+            AND status IN ('PENDING', 'IN_PROGRESS')
+            AND due_date < ?
+            GROUP BY priority
+            """;
+
+    private static final String COUNT_PROJECT_OVERDUE = """
+            SELECT priority, count(*) AS task_count
+            FROM tasks
+            WHERE project_id = ?
+            AND status IN ('PENDING', 'IN_PROGRESS')
+            AND due_date < ?
+            GROUP BY priority
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public GetTaskStatsDto findByUserId(UUID userId) {
+        return toDto(
+                jdbcTemplate.query(FIND_USER_STATS, this::mapCount, userId),
+                jdbcTemplate.query(COUNT_USER_OVERDUE, this::mapOverdueCount, userId, LocalDate.now()));
+    }
+
+    public GetTaskStatsDto findByProjectId(UUID projectId) {
+        return toDto(
+                jdbcTemplate.query(FIND_PROJECT_STATS, this::mapCount, projectId),
+                jdbcTemplate.query(COUNT_PROJECT_OVERDUE, this::mapOverdueCount, projectId, LocalDate.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(UUID userId, TaskStatsKey key, long delta) {
+        addAll(userId, Map.of(key, delta));
+    }
+
+    /**
+     * Moves a task from one counter to another after its status, priority or
+     * project changed. Does nothing when the task still counts the same.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(UUID userId, TaskStatsKey from, TaskStatsKey to) {
+        if (from.equals(to)) {
+            return;
+        }
+        Map<TaskStatsKey, Long> deltas = new HashMap<>();
+        deltas.merge(from, -1L, Long::sum);
+        deltas.merge(to, 1L, Long::sum);
+        addAll(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(UUID userId, Map<TaskStatsKey, Long> deltas) {
+        Map<TaskStatsKey, Long> userDeltas = new TreeMap<>(KEY_ORDER);
+        Map<TaskStatsKey, Long> projectDeltas = new TreeMap<>(KEY_ORDER);
+        deltas.forEach((key, delta) -> {
+            userDeltas.merge(new TaskStatsKey(null, key.status(), key.priority()), delta, Long::sum);
+            if (key.projectId() != null) {
+                projectDeltas.merge(key, delta, Long::sum);
+            }
+        });
+        userDeltas.values().removeIf(delta -> delta == 0);
+        projectDeltas.values().removeIf(delta -> delta == 0);
+        if (!userDeltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TO_USER_STATS, userDeltas.entrySet().stream()
+                    .map(entry -> toRow(userId, entry.getKey(), entry.getValue()))
+                    .toList());
+        }
+        if (!projectDeltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TO_PROJECT_STATS, projectDeltas.entrySet().stream()
+                    .map(entry -> toRow(entry.getKey().projectId(), entry.getKey(), entry.getValue()))
+                    .toList());
+        }
+    }
+
+    /**
+     * Deletes the tasks of projects that are about to be deleted and takes
+     * them off the user's counters. The projects are locked first so no task
+     * can be added to them in between; their own counters go away with them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeProjectTasks(UUID userId, Collection<UUID> projectIds) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("projectIds", projectIds);
+        namedParameterJdbcTemplate.queryForList(LOCK_PROJECTS, parameters, UUID.class);
+        namedParameterJdbcTemplate.update(DELETE_PROJECT_TASKS, parameters);
+    }
+
+    private Object[] toRow(UUID ownerId, TaskStatsKey key, long delta) {
+        return new Object[] { ownerId, key.status().name(), key.priority().name(), delta };
+    }
+
+    private TaskCount mapCount(ResultSet resultSet, int rowNum) throws SQLException {
+        return new TaskCount(
+                TaskStatus.valueOf(resultSet.getString("status")),
+                TaskPriority.valueOf(resultSet.getString("priority")),
+                resultSet.getLong("task_count"));
+    }
+
+    private TaskCount mapOverdueCount(ResultSet resultSet, int rowNum) throws SQLException {
+        return new TaskCount(
+                null,
+                TaskPriority.valueOf(resultSet.getString("priority")),
+                resultSet.getLong("task_count"));
+    }
+
+    private GetTaskStatsDto toDto(List<TaskCount> counts, List<TaskCount> overdueCounts) {
+        Map<TaskPriority, TaskCountsDto> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, TaskCountsDto.builder().build());
+        }
+        for (TaskCount count : counts) {
+            TaskCountsDto priorityCounts = byPriority.get(count.priority());
+            priorityCounts.setTotal(priorityCounts.getTotal() + count.taskCount());
+            switch (count.status()) {
+                case PENDING -> priorityCounts.setPending(priorityCounts.getPending() + count.taskCount());
+                case IN_PROGRESS -> priorityCounts.setInProgress(priorityCounts.getInProgress() + count.taskCount());
+                case COMPLETED -> priorityCounts.setCompleted(priorityCounts.getCompleted() + count.taskCount());
+                case CANCELLED -> priorityCounts.setCancelled(priorityCounts.getCancelled() + count.taskCount());
+            }
+        }
+        for (TaskCount count : overdueCounts) {
+            TaskCountsDto priorityCounts = byPriority.get(count.priority());
+            priorityCounts.setOverdue(priorityCounts.getOverdue() + count.taskCount());
+        }
+        return GetTaskStatsDto.builder()
+                .total(sum(byPriority, TaskCountsDto::getTotal))
+                .pending(sum(byPriority, TaskCountsDto::getPending))
+                .inProgress(sum(byPriority, TaskCountsDto::getInProgress))
+                .completed(sum(byPriority, TaskCountsDto::getCompleted))
+                .cancelled(sum(byPriority, TaskCountsDto::getCancelled))
+                .overdue(sum(byPriority, TaskCountsDto::getOverdue))
+                .byPriority(byPriority)
+                .build();
+    }
+
+    private long sum(Map<TaskPriority, TaskCountsDto> byPriority, ToLongFunction<TaskCountsDto> counter) {
+        return byPriority.values().stream().mapToLong(counter).sum();
+    }
+
+    private record TaskCount(TaskStatus status, TaskPriority priority, long taskCount) {
+    }
+
+}
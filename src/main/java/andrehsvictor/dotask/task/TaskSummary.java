@@ -0,0 +1,27 @@
+package andrehsvictor.dotask.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model for task listings, populated by a constructor expression that
+ * joins the owning project once and never touches the users table.
+ */
+public record TaskSummary(
+        UUID id,
+        String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate dueDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID projectId,
+        String projectName,
+        String projectDescription,
+        String projectColor,
+        Integer projectTaskCount,
+        LocalDateTime projectCreatedAt,
+        LocalDateTime projectUpdatedAt) {
+}
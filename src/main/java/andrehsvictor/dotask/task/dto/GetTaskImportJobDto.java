@@ -0,0 +1,25 @@
+package andrehsvictor.dotask.task.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GetTaskImportJobDto {
+
+    private UUID id;
+    private String format;
+    private String status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private String error;
+    private List<TaskImportErrorDto> errors;
+    private String createdAt;
+    private String updatedAt;
+    private String completedAt;
+
+}
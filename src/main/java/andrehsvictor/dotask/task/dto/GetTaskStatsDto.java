@@ -0,0 +1,21 @@
+package andrehsvictor.dotask.task.dto;
+
+import java.util.Map;
+
+import andrehsvictor.dotask.task.TaskPriority;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GetTaskStatsDto {
+
+    private long total;
+    private long pending;
+    private long inProgress;
+    private long completed;
+    private long cancelled;
+    private long overdue;
+    private Map<TaskPriority, TaskCountsDto> byPriority;
+
+}
@@ -0,0 +1,18 @@
+package andrehsvictor.dotask.task.dto;
+
+import java.util.List;
+
+import andrehsvictor.dotask.exception.dto.FieldErrorDto;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TaskBatchItemResultDto {
+
+    private int index;
+    private boolean created;
+    private GetTaskDto task;
+    private List<FieldErrorDto> errors;
+
+}
@@ -0,0 +1,16 @@
+package andrehsvictor.dotask.task.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TaskBatchResultDto {
+
+    private int created;
+    private int failed;
+    private List<TaskBatchItemResultDto> results;
+
+}
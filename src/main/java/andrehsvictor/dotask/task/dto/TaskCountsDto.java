@@ -0,0 +1,17 @@
+package andrehsvictor.dotask.task.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TaskCountsDto {
+
+    private long total;
+    private long pending;
+    private long inProgress;
+    private long completed;
+    private long cancelled;
+    private long overdue;
+
+}
@@ -0,0 +1,14 @@
+package andrehsvictor.dotask.task.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TaskImportErrorDto {
+
+    private long line;
+    private String field;
+    private String message;
+
+}
@@ -0,0 +1,96 @@
+package andrehsvictor.dotask.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template pre-parsed into alternating literal and {@code {{placeholder}}}
+ * segments. Rendering appends every segment once into a pre-sized builder and
+ * HTML-escapes the variable values.
+ */
+public class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private Template(String name, String[] literals, String[] placeholders) {
+        this.name = name;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static Template compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, open));
+            placeholders.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        return new Template(name, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String render(Map<String, String> variables) {
+        String[] values = new String[placeholders.length];
+        int length = literalLength;
+        for (int i = 0; i < placeholders.length; i++) {
+            String value = variables.get(placeholders[i]);
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Missing variable '" + placeholders[i] + "' for template '" + name + "'");
+            }
+            values[i] = value;
+            length += value.length();
+        }
+
+        StringBuilder builder = new StringBuilder(length + (length >> 6));
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            appendEscaped(builder, values[i]);
+        }
+        builder.append(literals[placeholders.length]);
+        return builder.toString();
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                builder.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        builder.append(value, start, value.length());
+    }
+
+}
@@ -0,0 +1,50 @@
+package andrehsvictor.dotask.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads and compiles every {@code classpath:templates/*.html} file once at
+ * startup. Templates are looked up by file name without the extension.
+ */
+@Service
+public class TemplateService {
+
+    private static final String LOCATION = "classpath:templates/*.html";
+    private static final String EXTENSION = ".html";
+
+    private final Map<String, Template> templates;
+
+    public TemplateService(ResourcePatternResolver resourcePatternResolver) {
+        Map<String, Template> compiled = new HashMap<>();
+        try {
+            for (Resource resource : resourcePatternResolver.getResources(LOCATION)) {
+                String filename = resource.getFilename();
+                String name = filename.substring(0, filename.length() - EXTENSION.length());
+                try (InputStream inputStream = resource.getInputStream()) {
+                    String source = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                    compiled.put(name, Template.compile(name, source));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Error loading templates from " + LOCATION, e);
+        }
+        this.templates = Map.copyOf(compiled);
+    }
+
+    public String render(String name, Map<String, String> variables) {
+        Template template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Template not found: " + name);
+        }
+        return template.render(variables);
+    }
+
+}
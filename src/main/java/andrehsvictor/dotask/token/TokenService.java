@@ -1,5 +1,6 @@
 package andrehsvictor.dotask.token;
 
+import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
@@ -8,12 +9,11 @@ import andrehsvictor.dotask.exception.InvalidJwtTypeException;
 import andrehsvictor.dotask.jwt.JwtService;
 import andrehsvictor.dotask.jwt.JwtType;
 import andrehsvictor.dotask.revokedtoken.RevokedTokenService;
+import andrehsvictor.dotask.security.UserDetailsImpl;
 import andrehsvictor.dotask.token.dto.CredentialsDto;
 import andrehsvictor.dotask.token.dto.GetTokenDto;
 import andrehsvictor.dotask.token.dto.PostRefreshTokenDto;
 import andrehsvictor.dotask.token.dto.RevokeTokenDto;
-import andrehsvictor.dotask.user.User;
-import andrehsvictor.dotask.user.UserService;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -23,12 +23,11 @@ public class TokenService {
     private final JwtService jwtService;
     private final AuthService authService;
     private final RevokedTokenService revokedTokenService;
-    private final UserService userService;
 
     public GetTokenDto request(CredentialsDto credentials) {
-        authService.authenticate(credentials.getEmail(), credentials.getPassword());
-        User user = userService.findByEmail(credentials.getEmail());
-        return generateTokenResponse(user.getId().toString());
+        Authentication authentication = authService.authenticate(credentials.getEmail(), credentials.getPassword());
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return generateTokenResponse(userDetails.getId().toString());
     }
 
     public GetTokenDto refresh(PostRefreshTokenDto refreshTokenDto) {
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 @Builder
@@ -15,6 +16,7 @@ public class CredentialsDto {
     @Email(message = "Email is invalid")
     private String email;
 
+    @ToString.Exclude
     @NotBlank(message = "Password is required")
     private String password;
 
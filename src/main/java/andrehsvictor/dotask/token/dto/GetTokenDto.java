@@ -2,12 +2,16 @@ package andrehsvictor.dotask.token.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 @Builder
 public class GetTokenDto {
 
+    @ToString.Exclude
     private String accessToken;
+
+    @ToString.Exclude
     private String refreshToken;
 
     @Builder.Default
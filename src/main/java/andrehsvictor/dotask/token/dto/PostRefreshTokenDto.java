@@ -4,11 +4,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 @AllArgsConstructor
 public class PostRefreshTokenDto {
 
+    @ToString.Exclude
     @NotBlank(message = "Refresh token is required")
     @Pattern(regexp = "^[A-Za-z0-9-_.]+\\.[A-Za-z0-9-_.]+\\.[A-Za-z0-9-_.]+$", message = "Invalid refresh token format")
     private String refreshToken;
@@ -3,26 +3,28 @@ package andrehsvictor.dotask.user;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import andrehsvictor.dotask.email.EmailService;
 import andrehsvictor.dotask.exception.EmailAlreadyVerfiedException;
 import andrehsvictor.dotask.exception.UnauthorizedException;
-import andrehsvictor.dotask.file.FileService;
+import andrehsvictor.dotask.template.TemplateService;
+import andrehsvictor.dotask.util.DurationFormatter;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
+@Transactional
 public class EmailVerificationService {
 
     private final UserService userService;
     private final EmailService emailService;
-    private final FileService fileService;
+    private final TemplateService templateService;
 
     @Value("${security.token.email-verification.lifespan}")
     private Duration tokenLifespan;
@@ -37,15 +39,10 @@ public class EmailVerificationService {
 
         userService.setEmailVerificationToken(user, token, expiresAt);
 
-        String expiresInPhrase = formatExpirationTime(tokenLifespan);
-
-        Map<String, String> templateVariables = new HashMap<>();
-        templateVariables.put("url", url);
-        templateVariables.put("token", token);
-        templateVariables.put("expiresInPhrase", expiresInPhrase);
-
-        String emailTemplate = fileService.readFile("classpath:templates/verify-email.html");
-        String emailContent = processTemplate(emailTemplate, templateVariables);
+        String emailContent = templateService.render("verify-email", Map.of(
+                "url", url,
+                "token", token,
+                "expiresInPhrase", DurationFormatter.toPhrase(tokenLifespan)));
 
         emailService.send(email, "Verify Your Email - Dotask", emailContent);
     }
@@ -60,27 +57,4 @@ public class EmailVerificationService {
         userService.markEmailAsVerified(user);
         return true;
     }
-
-    private String formatExpirationTime(Duration duration) {
-        long hours = duration.toHours();
-
-        if (hours < 1) {
-            return duration.toMinutes() + " minutes";
-        } else if (hours == 1) {
-            return "1 hour";
-        } else if (hours < 24) {
-            return hours + " hours";
-        } else {
-            long days = hours / 24;
-            return days == 1 ? "1 day" : days + " days";
-        }
-    }
-
-    private String processTemplate(String template, Map<String, String> variables) {
-        String result = template;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
-        }
-        return result;
-    }
 }
\ No newline at end of file
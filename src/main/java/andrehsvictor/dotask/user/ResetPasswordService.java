@@ -3,7 +3,6 @@ package andrehsvictor.dotask.user;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -13,7 +12,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import andrehsvictor.dotask.email.EmailService;
 import andrehsvictor.dotask.exception.UnauthorizedException;
-import andrehsvictor.dotask.file.FileService;
+import andrehsvictor.dotask.template.TemplateService;
+import andrehsvictor.dotask.util.DurationFormatter;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -23,7 +23,7 @@ public class ResetPasswordService {
 
     private final UserService userService;
     private final EmailService emailService;
-    private final FileService fileService;
+    private final TemplateService templateService;
 
     @Value("${security.token.password-reset.lifespan}")
     private Duration tokenLifespan;
@@ -36,15 +36,10 @@ public class ResetPasswordService {
 
         userService.setPasswordResetToken(user, token, expiresAt);
 
-        String expiresInPhrase = formatExpirationTime(tokenLifespan);
-
-        Map<String, String> templateVariables = new HashMap<>();
-        templateVariables.put("url", url);
-        templateVariables.put("token", token);
-        templateVariables.put("expiresInPhrase", expiresInPhrase);
-
-        String emailTemplate = fileService.readFile("classpath:templates/reset-password.html");
-        String emailContent = processTemplate(emailTemplate, templateVariables);
+        String emailContent = templateService.render("reset-password", Map.of(
+                "url", url,
+                "token", token,
+                "expiresInPhrase", DurationFormatter.toPhrase(tokenLifespan)));
 
         emailService.send(email, "Reset Your Password - Dotask", emailContent);
     }
@@ -59,27 +54,4 @@ public class ResetPasswordService {
         userService.changePassword(user, newPassword);
         return true;
     }
-
-    private String formatExpirationTime(Duration duration) {
-        long hours = duration.toHours();
-
-        if (hours < 1) {
-            return duration.toMinutes() + " minutes";
-        } else if (hours == 1) {
-            return "1 hour";
-        } else if (hours < 24) {
-            return hours + " hours";
-        } else {
-            long days = hours / 24;
-            return days == 1 ? "1 day" : days + " days";
-        }
-    }
-
-    private String processTemplate(String template, Map<String, String> variables) {
-        String result = template;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
-        }
-        return result;
-    }
 }
\ No newline at end of file
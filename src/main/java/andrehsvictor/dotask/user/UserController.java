@@ -6,7 +6,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import andrehsvictor.dotask.etag.ResourceVersion;
+import andrehsvictor.dotask.security.CurrentUser;
 import andrehsvictor.dotask.user.dto.EmailVerificationTokenDto;
 import andrehsvictor.dotask.user.dto.GetUserDto;
 import andrehsvictor.dotask.user.dto.PostUserDto;
@@ -45,13 +48,18 @@ public class UserController {
     @Operation(summary = "Get authenticated user data", description = "Returns the data of the currently authenticated user")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Data retrieved successfully", content = @Content(schema = @Schema(implementation = GetUserDto.class))),
+            @ApiResponse(responseCode = "304", description = "Data not modified since the given ETag or date"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/api/v1/users/me")
-    public GetUserDto findMe() {
-        User user = userService.findMe();
-        return userService.toDto(user);
+    public ResponseEntity<GetUserDto> findMe(CurrentUser currentUser, WebRequest webRequest) {
+        ResourceVersion version = userService.findVersion(currentUser.id());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        User user = userService.findById(currentUser.id());
+        return ResponseEntity.ok(userService.toDto(user));
     }
 
     @Operation(summary = "Update user data", description = "Updates the authenticated user's data. If the email is changed, it will need to be verified again.")
@@ -59,13 +67,20 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User updated successfully", content = @Content(schema = @Schema(implementation = GetUserDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid data"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
-            @ApiResponse(responseCode = "409", description = "Email already in use")
+            @ApiResponse(responseCode = "409", description = "Email already in use"),
+            @ApiResponse(responseCode = "412", description = "Data changed since the ETag given in If-Match")
     })
     @SecurityRequirement(name = "bearerAuth")
     @PutMapping("/api/v1/users/me")
-    public GetUserDto updateMe(@RequestBody @Valid PutUserDto putUserDto) {
-        User user = userService.updateMe(putUserDto);
-        return userService.toDto(user);
+    public ResponseEntity<GetUserDto> updateMe(CurrentUser currentUser, @RequestBody @Valid PutUserDto putUserDto,
+            WebRequest webRequest) {
+        User user = userService.updateMe(currentUser.id(), putUserDto,
+                current -> !webRequest.checkNotModified(current.eTag(), current.lastModifiedMillis()));
+        ResourceVersion version = userService.versionOf(user);
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .body(userService.toDto(user));
     }
 
     @Operation(summary = "Send action email", description = "Sends an email to the user based on action type (verification, password reset, etc.)")
@@ -4,15 +4,33 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import andrehsvictor.dotask.etag.ResourceVersion;
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findForUpdateById(UUID id);
+
     Optional<User> findByEmailVerificationToken(String token);
 
     Optional<User> findByPasswordResetToken(String token);
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT new andrehsvictor.dotask.etag.ResourceVersion(u.id, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<ResourceVersion> findVersionById(UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePasswordById(UUID id, String password);
+
 }
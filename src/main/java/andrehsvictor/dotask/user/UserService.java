@@ -2,14 +2,19 @@ package andrehsvictor.dotask.user;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import andrehsvictor.dotask.cache.EntityCacheService;
+import andrehsvictor.dotask.etag.ResourceVersion;
 import andrehsvictor.dotask.exception.EmailAlreadyExistsException;
+import andrehsvictor.dotask.exception.PreconditionFailedException;
 import andrehsvictor.dotask.exception.ResourceNotFoundException;
-import andrehsvictor.dotask.jwt.JwtService;
+import andrehsvictor.dotask.project.Project;
 import andrehsvictor.dotask.user.dto.EmailVerificationTokenDto;
 import andrehsvictor.dotask.user.dto.GetUserDto;
 import andrehsvictor.dotask.user.dto.PostUserDto;
@@ -27,13 +32,22 @@ public class UserService {
     private final ResetPasswordService resetPasswordService;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
+    private final EntityCacheService entityCacheService;
 
     public User findById(UUID id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(User.class, "ID", id));
     }
 
+    public ResourceVersion findVersion(UUID id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(User.class, "ID", id));
+    }
+
+    public ResourceVersion versionOf(User user) {
+        return new ResourceVersion(user.getId(), user.getUpdatedAt());
+    }
+
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException(User.class, "email", email));
@@ -115,9 +129,18 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    public User updateMe(PutUserDto putUserDto) {
-        UUID userId = jwtService.getCurrentUserUuid();
-        User user = findById(userId);
+    /**
+     * Updates the user if {@code precondition} accepts their current version.
+     * The user is locked before the check, so no other write can change them
+     * between the check and the update.
+     */
+    @Transactional
+    public User updateMe(UUID userId, PutUserDto putUserDto, Predicate<ResourceVersion> precondition) {
+        User user = userRepository.findForUpdateById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(User.class, "ID", userId));
+        if (!precondition.test(versionOf(user))) {
+            throw new PreconditionFailedException(User.class);
+        }
         if (putUserDto.getEmail() != null && !putUserDto.getEmail().equals(user.getEmail())
                 && existsByEmail(putUserDto.getEmail())) {
             throw new EmailAlreadyExistsException(putUserDto.getEmail());
@@ -133,14 +156,18 @@ public class UserService {
         return userMapper.userToGetUserDto(user);
     }
 
-    public User findMe() {
-        UUID userId = jwtService.getCurrentUserUuid();
-        return findById(userId);
+    public User getReferenceById(UUID id) {
+        return userRepository.getReferenceById(id);
     }
 
-    public void deleteMe() {
-        UUID userId = jwtService.getCurrentUserUuid();
+    /**
+     * The user's projects and tasks are removed by the database cascade, out
+     * of Hibernate's sight, so cached projects are evicted explicitly.
+     */
+    @Transactional
+    public void deleteMe(UUID userId) {
         userRepository.deleteById(userId);
+        entityCacheService.evictAll(Project.class);
     }
 
 }
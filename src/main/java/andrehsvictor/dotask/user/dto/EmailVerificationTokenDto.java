@@ -3,11 +3,13 @@ package andrehsvictor.dotask.user.dto;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 @AllArgsConstructor
 public class EmailVerificationTokenDto {
 
+    @ToString.Exclude
     @NotBlank(message = "Token is required")
     private String token;
 
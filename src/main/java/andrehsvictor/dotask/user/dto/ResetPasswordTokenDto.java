@@ -5,14 +5,17 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 @Builder
 public class ResetPasswordTokenDto {
 
+    @ToString.Exclude
     @NotBlank(message = "Token is required")
     private String token;
 
+    @ToString.Exclude
     @NotBlank(message = "New password is required")
     @Size(min = 8, max = 255, message = "Password must be between 8 and 255 characters")
     @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$", message = "Password must contain at least one digit, one lowercase, one uppercase, one special character, and no whitespace")
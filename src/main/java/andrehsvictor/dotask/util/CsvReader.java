@@ -0,0 +1,125 @@
+package andrehsvictor.dotask.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time from a character stream, so files of
+ * any size can be parsed without loading them. Quoted fields may contain
+ * separators, doubled quotes and line breaks; both CRLF and LF end a record.
+ */
+public class CsvReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the fields of the next record, or {@code null} at the end of the
+     * stream. Blank lines are skipped.
+     */
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean started = false;
+        recordLine = line;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    started = true;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    started = true;
+                }
+                case '\r' -> {
+                    if (peek() != '\n') {
+                        field.append('\r');
+                    }
+                }
+                case '\n' -> {
+                    line++;
+                    if (!started && field.isEmpty()) {
+                        recordLine = line;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    field.append((char) c);
+                    started = true;
+                }
+            }
+        }
+        if (!started && field.isEmpty()) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns the line on which the record last returned by
+     * {@link #readRecord()} starts.
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+}
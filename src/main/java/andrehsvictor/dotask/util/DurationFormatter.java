@@ -0,0 +1,21 @@
+package andrehsvictor.dotask.util;
+
+import java.time.Duration;
+
+public class DurationFormatter {
+
+    public static String toPhrase(Duration duration) {
+        long hours = duration.toHours();
+
+        if (hours < 1) {
+            return duration.toMinutes() + " minutes";
+        } else if (hours == 1) {
+            return "1 hour";
+        } else if (hours < 24) {
+            return hours + " hours";
+        } else {
+            long days = hours / 24;
+            return days == 1 ? "1 day" : days + " days";
+        }
+    }
+}
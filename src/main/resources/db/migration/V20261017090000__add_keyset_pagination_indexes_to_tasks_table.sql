@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id_created_at_id
+    ON tasks (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id_created_at_id
+    ON tasks (project_id, created_at DESC, id DESC);
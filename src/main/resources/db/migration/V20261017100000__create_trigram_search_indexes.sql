@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm
+    ON tasks USING gin (LOWER(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_description_trgm
+    ON tasks USING gin (LOWER(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_projects_name_trgm
+    ON projects USING gin (LOWER(name) gin_trgm_ops);
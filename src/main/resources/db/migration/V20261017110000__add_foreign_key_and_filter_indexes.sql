@@ -0,0 +1,20 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_status_priority_due_date
+    ON tasks (user_id, status, priority, due_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_project_id_created_at
+    ON tasks (user_id, project_id, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_due_date
+    ON tasks (user_id, due_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_user_id_created_at
+    ON projects (user_id, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_task_id
+    ON comments (task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_user_id
+    ON comments (user_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_revoked_tokens_expires_at
+    ON revoked_tokens (expires_at);
@@ -0,0 +1,5 @@
+UPDATE projects p
+SET task_count = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id);
+
+ALTER TABLE projects
+ALTER COLUMN task_count SET NOT NULL;
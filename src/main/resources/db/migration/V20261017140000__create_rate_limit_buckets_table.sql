@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    key VARCHAR(320) PRIMARY KEY,
+    arrival_at BIGINT NOT NULL
+);
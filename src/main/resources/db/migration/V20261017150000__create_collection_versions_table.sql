@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS collection_versions (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL
+);
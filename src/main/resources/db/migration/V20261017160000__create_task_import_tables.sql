@@ -0,0 +1,44 @@
+CREATE TABLE IF NOT EXISTS task_import_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    format VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE,
+
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_import_jobs_user_id ON task_import_jobs (user_id);
+
+CREATE TABLE IF NOT EXISTS task_import_errors (
+    job_id UUID NOT NULL,
+    line BIGINT NOT NULL,
+    field VARCHAR(50),
+    message TEXT NOT NULL,
+
+    FOREIGN KEY (job_id) REFERENCES task_import_jobs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_import_errors_job_id_line ON task_import_errors (job_id, line);
+
+-- Rows are staged here through COPY and moved into tasks with a single
+-- INSERT ... SELECT, so the table is never read after a crash and can skip
+-- the WAL.
+CREATE UNLOGGED TABLE IF NOT EXISTS task_import_rows (
+    job_id UUID NOT NULL,
+    line BIGINT NOT NULL,
+    title TEXT NOT NULL,
+    description TEXT,
+    status VARCHAR(50),
+    priority VARCHAR(20),
+    due_date DATE,
+    project_name TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_import_rows_job_id ON task_import_rows (job_id);
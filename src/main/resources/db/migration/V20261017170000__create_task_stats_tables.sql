@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS user_task_stats (
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(50) NOT NULL,
+    priority VARCHAR(20) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, status, priority)
+);
+
+CREATE TABLE IF NOT EXISTS project_task_stats (
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    status VARCHAR(50) NOT NULL,
+    priority VARCHAR(20) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (project_id, status, priority)
+);
+
+INSERT INTO user_task_stats (user_id, status, priority, task_count)
+SELECT user_id, status, priority, COUNT(*)
+FROM tasks
+GROUP BY user_id, status, priority;
+
+INSERT INTO project_task_stats (project_id, status, priority, task_count)
+SELECT project_id, status, priority, COUNT(*)
+FROM tasks
+WHERE project_id IS NOT NULL
+GROUP BY project_id, status, priority;
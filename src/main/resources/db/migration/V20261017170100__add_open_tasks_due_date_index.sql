@@ -0,0 +1,4 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_id_due_date_open
+    ON tasks (project_id, due_date)
+    INCLUDE (priority)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
@@ -0,0 +1,3 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_outbox_dead_created_at
+    ON email_outbox (created_at)
+    WHERE status = 'DEAD';
@@ -1,28 +1,50 @@
 package andrehsvictor.dotask;
 
+import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 
+import andrehsvictor.dotask.user.User;
+import andrehsvictor.dotask.user.UserRepository;
+import andrehsvictor.dotask.user.dto.PostUserDto;
 import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "rate-limit.enabled=false")
 public abstract class AbstractIntegrationTest {
 
+    protected static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String PASSWORD = "Test123!@#";
+
     @Container
     public static final PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:alpine");
 
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private UserRepository testUserRepository;
+
     @BeforeAll
     public static void beforeAll() {
         postgreSQLContainer.start();
@@ -34,6 +56,8 @@ public abstract class AbstractIntegrationTest {
         registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
         registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
         registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "5");
+        registry.add("email.outbox.poll-interval", () -> "1h");
     }
 
     @BeforeEach
@@ -42,4 +66,49 @@ public abstract class AbstractIntegrationTest {
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
     }
 
+    /**
+     * Signs up a user with a random email, marks the email as verified and
+     * logs in.
+     */
+    protected VerifiedUser createVerifiedUserAndLogin() {
+        String email = "test-user-" + UUID.randomUUID() + "@example.com";
+        given()
+                .contentType(ContentType.JSON)
+                .body(PostUserDto.builder().name("Test User").email(email).password(PASSWORD).build())
+                .when()
+                .post("/api/v1/users")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+        User user = testUserRepository.findByEmail(email).orElseThrow();
+        user.setEmailVerified(true);
+        testUserRepository.save(user);
+
+        JsonPath tokens = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("email", email, "password", PASSWORD))
+                .when()
+                .post("/api/v1/token")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .jsonPath();
+        return new VerifiedUser(user.getId(), tokens.getString("accessToken"),
+                tokens.getString("refreshToken"));
+    }
+
+    /**
+     * Polls the condition until it holds, failing the test if it still does
+     * not after {@link #AWAIT_TIMEOUT}.
+     */
+    protected static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + AWAIT_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition not met within %s", AWAIT_TIMEOUT).isNegative();
+            Thread.sleep(50);
+        }
+    }
+
+    protected record VerifiedUser(UUID id, String accessToken, String refreshToken) {
+    }
+
 }
@@ -0,0 +1,102 @@
+package andrehsvictor.dotask;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * Timing helpers shared by the benchmark integration tests, which only run
+ * with {@code -Dbenchmark=true}. Results are meant to be logged and compared
+ * against each other, not against absolute thresholds.
+ */
+public final class Benchmark {
+
+    private static final OperatingSystemMXBean OS = ManagementFactory
+            .getPlatformMXBean(OperatingSystemMXBean.class);
+
+    private static volatile Object sink;
+
+    private Benchmark() {
+    }
+
+    /**
+     * Runs the operation {@code warmup} times so the JIT settles, then returns
+     * its mean wall-clock time over {@code iterations} further runs.
+     */
+    public static Duration meanTime(int warmup, int iterations, Supplier<?> operation) {
+        for (int i = 0; i < warmup; i++) {
+            sink = operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        return Duration.ofNanos((System.nanoTime() - start) / iterations);
+    }
+
+    /**
+     * Returns the shortest of {@code rounds} runs, each timing itself.
+     */
+    public static Duration fastest(int rounds, Supplier<Duration> run) {
+        Duration fastest = run.get();
+        for (int i = 1; i < rounds; i++) {
+            Duration elapsed = run.get();
+            if (elapsed.compareTo(fastest) < 0) {
+                fastest = elapsed;
+            }
+        }
+        return fastest;
+    }
+
+    public static <E extends Exception> Duration time(ThrowingRunnable<E> operation) throws E {
+        return timed(() -> {
+            operation.run();
+            return null;
+        }).elapsed();
+    }
+
+    public static <T, E extends Exception> Timed<T> timed(ThrowingSupplier<T, E> operation) throws E {
+        long start = System.nanoTime();
+        T result = operation.get();
+        return new Timed<>(result, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Returns the CPU time the whole process spent while the operation ran,
+     * server threads included.
+     */
+    public static <E extends Exception> Duration cpuTime(ThrowingRunnable<E> operation) throws E {
+        long start = OS.getProcessCpuTime();
+        operation.run();
+        return Duration.ofNanos(OS.getProcessCpuTime() - start);
+    }
+
+    public static long perSecond(long count, Duration elapsed) {
+        return Math.round(count / (elapsed.toNanos() / 1e9));
+    }
+
+    public static String millis(Duration elapsed) {
+        return String.format(Locale.ROOT, "%.2f ms", elapsed.toNanos() / 1e6);
+    }
+
+    public record Timed<T>(T result, Duration elapsed) {
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable<E extends Exception> {
+
+        void run() throws E;
+
+    }
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T, E extends Exception> {
+
+        T get() throws E;
+
+    }
+
+}
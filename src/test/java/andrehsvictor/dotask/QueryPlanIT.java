@@ -0,0 +1,145 @@
+package andrehsvictor.dotask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import andrehsvictor.dotask.metrics.StatementCountInspector;
+import andrehsvictor.dotask.task.TaskRepository;
+
+class QueryPlanIT extends AbstractIntegrationTest {
+
+    private static final int PREPARE_THRESHOLD = 5;
+
+    @MockitoSpyBean
+    private StatementCountInspector statementCountInspector;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM tasks WHERE id = '00000000-0000-0000-0000-000000000001' AND user_id = '00000000-0000-0000-0000-000000000002'",
+            "SELECT * FROM tasks WHERE user_id = '00000000-0000-0000-0000-000000000002' AND status = 'PENDING' AND priority = 'HIGH'",
+            "SELECT * FROM tasks WHERE user_id = '00000000-0000-0000-0000-000000000002' AND due_date BETWEEN CURRENT_DATE AND CURRENT_DATE + 7",
+            "SELECT * FROM tasks WHERE user_id = '00000000-0000-0000-0000-000000000002' AND project_id = '00000000-0000-0000-0000-000000000003' ORDER BY created_at DESC",
+            "SELECT * FROM tasks WHERE user_id = '00000000-0000-0000-0000-000000000002' ORDER BY created_at DESC, id DESC LIMIT 20",
+            "SELECT priority, count(*) FROM tasks WHERE user_id = '00000000-0000-0000-0000-000000000002' AND status IN ('PENDING', 'IN_PROGRESS') AND due_date < CURRENT_DATE GROUP BY priority",
+            "SELECT priority, count(*) FROM tasks WHERE project_id = '00000000-0000-0000-0000-000000000003' AND status IN ('PENDING', 'IN_PROGRESS') AND due_date < CURRENT_DATE GROUP BY priority",
+            "SELECT * FROM user_task_stats WHERE user_id = '00000000-0000-0000-0000-000000000002'",
+            "SELECT * FROM project_task_stats WHERE project_id = '00000000-0000-0000-0000-000000000003'",
+            "SELECT * FROM projects WHERE user_id = '00000000-0000-0000-0000-000000000002'",
+            "SELECT * FROM revoked_tokens WHERE expires_at > NOW()",
+            "DELETE FROM tasks WHERE user_id = '00000000-0000-0000-0000-000000000002'",
+            "DELETE FROM tasks WHERE project_id = '00000000-0000-0000-0000-000000000003'",
+            "DELETE FROM projects WHERE user_id = '00000000-0000-0000-0000-000000000002'",
+            "DELETE FROM comments WHERE task_id = '00000000-0000-0000-0000-000000000001'",
+            "DELETE FROM comments WHERE user_id = '00000000-0000-0000-0000-000000000002'"
+    })
+    void shouldNotFallBackToSequentialScan(String query) {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+        });
+
+        assertThat(plan)
+                .as("Plan for %s", query)
+                .noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    /**
+     * Explains the statement Hibernate issues for the after-cursor page. The
+     * query is run until pgjdbc prepares it on the server, and that prepared
+     * statement is then explained with a generic plan, as pooled connections
+     * end up executing it.
+     */
+    @Test
+    void shouldSeekPastCursorWithGenericPlan() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_sort = off");
+            clearInvocations(statementCountInspector);
+            for (int i = 0; i < PREPARE_THRESHOLD; i++) {
+                taskRepository.findAllByUserIdWithFiltersAfter(UUID.randomUUID(), null, null, null, null, null,
+                        LocalDateTime.now(), UUID.randomUUID(), Limit.of(21));
+            }
+            ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+            verify(statementCountInspector, atLeastOnce()).inspect(sql.capture());
+
+            Map<String, Object> statement = jdbcTemplate.queryForMap("""
+                    SELECT name, cardinality(parameter_types) AS parameters
+                    FROM pg_prepared_statements
+                    WHERE statement = ?
+                    """, toNativeSql(sql.getValue()));
+            String nulls = String.join(", ", Collections.nCopies((Integer) statement.get("parameters"), "NULL"));
+            return jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE \"" + statement.get("name") + "\"(" + nulls + ")", String.class);
+        });
+
+        assertThat(plan)
+                .as("Generic plan for the keyset seek")
+                .anyMatch(line -> line.contains("Index Cond") && line.contains("created_at <="));
+    }
+
+    @Test
+    void shouldSearchThroughTrigramIndexesWithGenericPlan() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("""
+                    PREPARE search_tasks(text) AS
+                    SELECT count(*) FROM tasks
+                    WHERE LOWER(title) LIKE LOWER('%' || $1 || '%')
+                    OR LOWER(description) LIKE LOWER('%' || $1 || '%')
+                    """);
+            try {
+                return jdbcTemplate.queryForList("EXPLAIN EXECUTE search_tasks('report')", String.class);
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE search_tasks");
+            }
+        });
+
+        assertThat(plan)
+                .as("Generic plan for the task search")
+                .anyMatch(line -> line.contains("idx_tasks_title_trgm"))
+                .anyMatch(line -> line.contains("idx_tasks_description_trgm"));
+    }
+
+    private static String toNativeSql(String sql) {
+        StringBuilder nativeSql = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                nativeSql.append('$').append(++parameter);
+            } else {
+                nativeSql.append(c);
+            }
+        }
+        return nativeSql.toString();
+    }
+
+}
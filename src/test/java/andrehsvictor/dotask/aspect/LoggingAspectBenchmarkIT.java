@@ -0,0 +1,108 @@
+package andrehsvictor.dotask.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.bind.annotation.RestController;
+
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the per-request overhead the controller advice adds around a batch
+ * endpoint: no aspect, the aspect at full and at default sampling, and the
+ * previous behaviour of stringifying every argument. Run with
+ * {@code -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoggingAspectBenchmarkIT {
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    private final List<PostTaskDto> batch = new ArrayList<>();
+
+    @Test
+    void shouldAddLessOverheadThanStringifyingArguments() {
+        for (int i = 0; i < 100; i++) {
+            batch.add(PostTaskDto.builder().title("Task " + i).description("Description " + i).build());
+        }
+
+        BatchController off = new BatchController();
+        BatchController fullySampled = proxy(new LoggingAspect(meterRegistry(), 1.0));
+        BatchController sampled = proxy(new LoggingAspect(meterRegistry(), 0.1));
+        BatchController stringified = proxy(new StringifyingAspect());
+
+        Duration offTime = measure(() -> off.createAll(batch));
+        Duration fullySampledTime = measure(() -> fullySampled.createAll(batch));
+        Duration sampledTime = measure(() -> sampled.createAll(batch));
+        Duration stringifiedTime = measure(() -> stringified.createAll(batch));
+
+        log.info("Controller advice overhead per request: off {} ns, sampled 100% {} ns, sampled 10% {} ns, "
+                + "stringified arguments {} ns", offTime.toNanos(), fullySampledTime.toNanos(),
+                sampledTime.toNanos(), stringifiedTime.toNanos());
+
+        assertThat(sampledTime).isLessThan(stringifiedTime);
+        assertThat(fullySampledTime).isLessThan(stringifiedTime);
+    }
+
+    private Duration measure(Supplier<Integer> call) {
+        return Benchmark.meanTime(WARMUP_ITERATIONS, MEASURED_ITERATIONS, call);
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistry() {
+        return new StaticListableBeanFactory(Map.of("meterRegistry", new SimpleMeterRegistry()))
+                .getBeanProvider(MeterRegistry.class);
+    }
+
+    private BatchController proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BatchController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @RestController
+    static class BatchController {
+
+        public int createAll(List<PostTaskDto> postTaskDtos) {
+            return postTaskDtos.size();
+        }
+
+    }
+
+    @Aspect
+    static class StringifyingAspect {
+
+        private volatile String sink;
+
+        @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+        public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+            sink = Arrays.toString(joinPoint.getArgs());
+            long start = System.currentTimeMillis();
+            Object result = joinPoint.proceed();
+            sink = joinPoint.getSignature().getName() + (System.currentTimeMillis() - start);
+            return result;
+        }
+
+    }
+
+}
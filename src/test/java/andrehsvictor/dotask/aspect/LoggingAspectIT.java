@@ -0,0 +1,105 @@
+package andrehsvictor.dotask.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.bind.annotation.RestController;
+
+import andrehsvictor.dotask.user.dto.PostUserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoggingAspectIT {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRecordSuccessAndErrorTimings() {
+        SampleController controller = proxy(1.0);
+
+        controller.create(PostUserDto.builder().name("Test User").password("Secret123!").build());
+        assertThatThrownBy(controller::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("method.execution")
+                .tags("layer", "controller", "method", "create", "outcome", "success")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("method.execution")
+                .tags("layer", "controller", "method", "fail", "outcome", "error")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipTimingWhenNotSampled() {
+        SampleController controller = proxy(0.0);
+
+        controller.create(PostUserDto.builder().name("Test User").build());
+
+        assertThat(meterRegistry.find("method.execution").timers()).isEmpty();
+    }
+
+    @Test
+    void shouldRedactSensitiveArgumentsAndSummariseCollections() {
+        String rendered = ArgumentRenderer.render(
+                new String[] { "credentials", "ids", "newPassword", "missing" },
+                new Object[] {
+                        new Credentials("user@example.com", "Ab1!x,yz)]}", "refresh-token-value"),
+                        List.of(1, 2, 3),
+                        "Plain,text)",
+                        null
+                });
+
+        assertThat(rendered)
+                .contains("password=[REDACTED]")
+                .contains("refreshToken=[REDACTED]")
+                .contains("email=user@example.com")
+                .contains("[size=3]")
+                .doesNotContain("Ab1!")
+                .doesNotContain("yz")
+                .doesNotContain("refresh-token-value")
+                .doesNotContain("Plain");
+    }
+
+    @Test
+    void shouldRedactSecretFieldsOfDtosWhateverTheyContain() {
+        String rendered = ArgumentRenderer.render(null, new Object[] {
+                PostUserDto.builder().name("Test User").email("user@example.com").password("Ab1!x,yz").build()
+        });
+
+        assertThat(rendered)
+                .isEqualTo("[PostUserDto(name=Test User, email=user@example.com, password=[REDACTED])]");
+    }
+
+    private SampleController proxy(double sampleRate) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+                Map.of("meterRegistry", meterRegistry));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(beanFactory.getBeanProvider(MeterRegistry.class), sampleRate));
+        return factory.getProxy();
+    }
+
+    record Credentials(String email, String password, String refreshToken) {
+    }
+
+    @RestController
+    static class SampleController {
+
+        public String create(PostUserDto postUserDto) {
+            return postUserDto.getName();
+        }
+
+        public String fail() {
+            throw new IllegalStateException("Failed");
+        }
+
+    }
+
+}
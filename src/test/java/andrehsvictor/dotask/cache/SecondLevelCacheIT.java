@@ -0,0 +1,293 @@
+package andrehsvictor.dotask.cache;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.Project;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.task.TaskRepository;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.user.User;
+import andrehsvictor.dotask.user.UserRepository;
+import andrehsvictor.dotask.user.dto.PutUserDto;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import jakarta.persistence.EntityManagerFactory;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityCacheInvalidationListener entityCacheInvalidationListener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private String accessToken;
+    private UUID projectId;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        accessToken = createVerifiedUserAndLogin().accessToken();
+
+        projectId = UUID.fromString(authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Cached").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCreateTasksInProjectWithoutLoadingProjectAgain() {
+        createTask(1);
+        statistics.clear();
+
+        for (int i = 2; i <= 5; i++) {
+            createTask(i);
+        }
+
+        assertThat(statistics.getEntityStatistics(Project.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.PROJECT_REGION).getHitCount())
+                .isEqualTo(4);
+        assertThat(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.PROJECT_QUERY_REGION).getHitCount())
+                .isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT task_count FROM projects WHERE id = ?", Integer.class,
+                projectId)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldReloadProjectAfterTaskIsDeleted() {
+        String taskId = createTask(1);
+        createTask(2);
+
+        authenticated()
+                .when()
+                .delete("/api/v1/tasks/" + taskId)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("taskCount", equalTo(1));
+    }
+
+    @Test
+    void shouldNotServeProjectsRemovedByBulkDelete() {
+        createTask(1);
+        assertThat(entityManagerFactory.getCache().contains(Project.class, projectId)).isTrue();
+
+        authenticated()
+                .contentType(ContentType.JSON)
+                .body(List.of(projectId))
+                .when()
+                .delete("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        authenticated()
+                .contentType(ContentType.JSON)
+                .body(task("Orphan"))
+                .when()
+                .post("/api/v1/projects/" + projectId + "/tasks")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void shouldEvictOnlyTheDeletedProject() {
+        UUID otherProjectId = UUID.fromString(authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Kept").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id"));
+        for (UUID id : List.of(projectId, otherProjectId)) {
+            authenticated()
+                    .when()
+                    .get("/api/v1/projects/" + id)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        }
+        assertThat(entityManagerFactory.getCache().contains(Project.class, otherProjectId)).isTrue();
+
+        authenticated()
+                .when()
+                .delete("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        assertThat(entityManagerFactory.getCache().contains(Project.class, otherProjectId)).isTrue();
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        assertThat(entityManagerFactory.getCache().contains(Project.class, otherProjectId)).isTrue();
+    }
+
+    @Test
+    void shouldBypassCacheWhileNotListening() {
+        entityCacheInvalidationListener.onDisconnected();
+        try {
+            entityManagerFactory.getCache().evictAll();
+            authenticated()
+                    .when()
+                    .get("/api/v1/projects/" + projectId)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+            assertThat(entityManagerFactory.getCache().contains(Project.class, projectId)).isFalse();
+        } finally {
+            entityCacheInvalidationListener.onConnected();
+        }
+
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        assertThat(entityManagerFactory.getCache().contains(Project.class, projectId)).isTrue();
+    }
+
+    @Test
+    void shouldServeUpdatedUserFromCache() {
+        authenticated()
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        authenticated()
+                .contentType(ContentType.JSON)
+                .body(PutUserDto.builder().name("Renamed").build())
+                .when()
+                .put("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        statistics.clear();
+
+        authenticated()
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Renamed"));
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldEvictEntriesInvalidatedByOtherNodes() throws InterruptedException {
+        awaitCondition(entityCacheInvalidationListener::isListening);
+        createTask(1);
+        assertThat(entityManagerFactory.getCache().contains(Project.class, projectId)).isTrue();
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", EntityCacheInvalidationListener.CHANNEL,
+                EntityCacheInvalidationListener.toPayload(UUID.randomUUID().toString(),
+                        Project.class.getName(), projectId));
+
+        awaitCondition(() -> !entityManagerFactory.getCache().contains(Project.class, projectId));
+    }
+
+    @Test
+    void shouldDropQueryResultsOfProjectsRemovedOnOtherNodes() throws InterruptedException {
+        awaitCondition(entityCacheInvalidationListener::isListening);
+        createTask(1);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", EntityCacheInvalidationListener.CHANNEL,
+                EntityCacheInvalidationListener.toPayload(UUID.randomUUID().toString(),
+                        Project.class.getName(), projectId, true));
+
+        awaitCondition(() -> !entityManagerFactory.getCache().contains(Project.class, projectId));
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    private String createTask(int expectedTaskCount) {
+        return authenticated()
+                .contentType(ContentType.JSON)
+                .body(task("Task " + expectedTaskCount))
+                .when()
+                .post("/api/v1/projects/" + projectId + "/tasks")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .body("project.taskCount", equalTo(expectedTaskCount))
+                .extract()
+                .path("id");
+    }
+
+    private PostTaskDto task(String title) {
+        return PostTaskDto.builder()
+                .title(title)
+                .status("PENDING")
+                .priority("MEDIUM")
+                .build();
+    }
+
+    private RequestSpecification authenticated() {
+        return given().header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    }
+
+}
@@ -0,0 +1,192 @@
+package andrehsvictor.dotask.email;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.user.EmailSendingAction;
+import andrehsvictor.dotask.user.UserRepository;
+import andrehsvictor.dotask.user.dto.PostUserDto;
+import andrehsvictor.dotask.user.dto.SendActionEmailDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.http.ContentType;
+import jakarta.mail.internet.MimeMessage;
+
+class EmailOutboxIT extends AbstractIntegrationTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.outbox.max-attempts}")
+    private int maxAttempts;
+
+    private String userEmail;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", ServerSetupTest.SMTP::getBindAddress);
+        registry.add("spring.mail.port", ServerSetupTest.SMTP::getPort);
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+    }
+
+    @BeforeEach
+    void setup() {
+        outboxEmailRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userEmail = "test-user-" + UUID.randomUUID() + "@example.com";
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(PostUserDto.builder()
+                        .name("Test User")
+                        .email(userEmail)
+                        .password("Test123!@#")
+                        .build())
+                .when()
+                .post("/api/v1/users")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEmailRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldDeliverActionEmailThroughOutbox() throws Exception {
+        given()
+                .contentType(ContentType.JSON)
+                .body(SendActionEmailDto.builder()
+                        .action(EmailSendingAction.VERIFY_EMAIL)
+                        .email(userEmail)
+                        .url("https://example.com/verify")
+                        .build())
+                .when()
+                .post("/api/v1/users/send-action-email")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertThat(message.getAllRecipients()[0].toString()).isEqualTo(userEmail);
+        assertThat(message.getSubject()).isEqualTo("Verify Your Email - Dotask");
+
+        awaitCondition(() -> outboxEmailRepository.count() == 0);
+    }
+
+    @Test
+    void shouldRetryWithBackoffAndDeadLetterWhenSmtpIsUnavailable() {
+        greenMail.stop();
+
+        OutboxEmail retried = outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(userEmail)
+                .subject("Retried")
+                .body("Body")
+                .build());
+        OutboxEmail exhausted = outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(userEmail)
+                .subject("Exhausted")
+                .body("Body")
+                .attempts(maxAttempts - 1)
+                .build());
+
+        assertThat(emailDispatcher.dispatch()).isEqualTo(2);
+
+        OutboxEmail afterRetry = outboxEmailRepository.findById(retried.getId()).orElseThrow();
+        assertThat(afterRetry.getStatus()).isEqualTo(OutboxEmailStatus.PENDING);
+        assertThat(afterRetry.getAttempts()).isEqualTo(1);
+        assertThat(afterRetry.getLastError()).isNotBlank();
+        assertThat(afterRetry.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        OutboxEmail afterExhaustion = outboxEmailRepository.findById(exhausted.getId()).orElseThrow();
+        assertThat(afterExhaustion.getStatus()).isEqualTo(OutboxEmailStatus.DEAD);
+        assertThat(afterExhaustion.getAttempts()).isEqualTo(maxAttempts);
+
+        assertThat(emailDispatcher.dispatch()).isZero();
+    }
+
+    @Test
+    void shouldReportOutboxSizesFromTheLastDrain() throws InterruptedException {
+        greenMail.stop();
+
+        outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(userEmail)
+                .subject("Exhausted")
+                .body("Body")
+                .attempts(maxAttempts - 1)
+                .build());
+        outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(userEmail)
+                .subject("Scheduled")
+                .body("Body")
+                .nextAttemptAt(LocalDateTime.now().plusHours(1))
+                .build());
+
+        emailDispatcher.wakeUp();
+
+        awaitCondition(() -> outboxSize("dead") == 1 && outboxSize("pending") == 1);
+    }
+
+    private double outboxSize(String status) {
+        return meterRegistry.get("email.outbox.size").tag("status", status).gauge().value();
+    }
+
+    @Test
+    void shouldNotDispatchLeasedEmailsUntilTheLeaseRunsOut() throws Exception {
+        outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(userEmail)
+                .subject("Leased")
+                .body("Body")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> claimed = transactionTemplate.execute(
+                status -> outboxEmailRepository.claimAllDue(now, now.plusSeconds(1), 10));
+        assertThat(claimed).hasSize(1);
+
+        assertThat(emailDispatcher.dispatch()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        Thread.sleep(1100);
+        assertThat(emailDispatcher.dispatch()).isEqualTo(1);
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(outboxEmailRepository.count()).isZero();
+    }
+
+}
@@ -0,0 +1,262 @@
+package andrehsvictor.dotask.etag;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.project.dto.PutProjectDto;
+import andrehsvictor.dotask.task.TaskRepository;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.task.dto.PutTaskDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import jakarta.persistence.EntityManagerFactory;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CollectionVersionIT extends AbstractIntegrationTest {
+
+    private static final String TASKS = "/api/v1/tasks?status=PENDING&page=0&size=20";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CollectionVersionIndex collectionVersionIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String accessToken;
+    private UUID userId;
+    private String projectId;
+    private String taskId;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        userId = user.id();
+        accessToken = user.accessToken();
+
+        projectId = authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Project").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+
+        taskId = createTask();
+        awaitCondition(collectionVersionIndex::isSynchronizedWithCluster);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAnswerUnchangedCollectionWithNotModifiedWithoutRunningQueries() {
+        String eTag = eTagOf(TASKS);
+        assertThat(eTag).startsWith("W/\"");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get(TASKS)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, equalTo(eTag))
+                .body(emptyString());
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, eTagOf("/api/v1/projects"))
+                .when()
+                .get("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void shouldChangeETagOnEveryTaskAndProjectWrite() {
+        List<Runnable> writes = List.of(
+                this::createTask,
+                () -> authenticated()
+                        .contentType(ContentType.JSON)
+                        .body(PutTaskDto.builder().title("Updated").status("PENDING").priority("HIGH").build())
+                        .when()
+                        .put("/api/v1/tasks/" + taskId)
+                        .then()
+                        .statusCode(HttpStatus.OK.value()),
+                () -> authenticated()
+                        .queryParam("status", "COMPLETED")
+                        .when()
+                        .patch("/api/v1/tasks/" + taskId + "/status")
+                        .then()
+                        .statusCode(HttpStatus.OK.value()),
+                () -> authenticated()
+                        .contentType(ContentType.JSON)
+                        .body(PutProjectDto.builder().name("Renamed").build())
+                        .when()
+                        .put("/api/v1/projects/" + projectId)
+                        .then()
+                        .statusCode(HttpStatus.OK.value()),
+                () -> authenticated()
+                        .contentType(ContentType.JSON)
+                        .body(List.of(taskId))
+                        .when()
+                        .delete("/api/v1/tasks")
+                        .then()
+                        .statusCode(HttpStatus.NO_CONTENT.value()),
+                () -> authenticated()
+                        .when()
+                        .delete("/api/v1/projects/" + projectId)
+                        .then()
+                        .statusCode(HttpStatus.NO_CONTENT.value()));
+
+        for (Runnable write : writes) {
+            String tasksETag = eTagOf(TASKS);
+            String projectsETag = eTagOf("/api/v1/projects");
+
+            write.run();
+
+            assertThat(eTagOf(TASKS)).isNotEqualTo(tasksETag);
+            assertThat(eTagOf("/api/v1/projects")).isNotEqualTo(projectsETag);
+        }
+    }
+
+    @Test
+    void shouldDeriveETagFromPathAndQueryParameters() {
+        String eTag = eTagOf("/api/v1/tasks?status=PENDING&priority=HIGH");
+
+        assertThat(eTagOf("/api/v1/tasks?priority=HIGH&status=PENDING")).isEqualTo(eTag);
+        assertThat(eTagOf("/api/v1/tasks?status=PENDING&priority=LOW")).isNotEqualTo(eTag);
+        assertThat(eTagOf("/api/v1/projects/" + projectId + "/tasks?status=PENDING&priority=HIGH"))
+                .isNotEqualTo(eTag);
+    }
+
+    @Test
+    void shouldNotShareETagsBetweenUsers() {
+        String eTag = eTagOf(TASKS);
+        String otherAccessToken = createVerifiedUserAndLogin().accessToken();
+
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + otherAccessToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get(TASKS)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldPickUpWritesFromOtherNodesThroughNotifications() throws InterruptedException {
+        String eTag = eTagOf(TASKS);
+
+        Long version = jdbcTemplate.queryForObject(
+                "UPDATE collection_versions SET version = version + 1 WHERE user_id = ? RETURNING version",
+                Long.class, userId);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)",
+                CollectionVersionListener.CHANNEL,
+                CollectionVersionListener.toPayload(userId, version));
+
+        awaitCondition(() -> collectionVersionIndex.get(userId).orElse(0) >= version);
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get(TASKS)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldReadVersionFromDatabaseWhenNotSynchronizedWithCluster() {
+        String eTag = eTagOf(TASKS);
+        collectionVersionIndex.setSynchronizedWithCluster(false);
+        try {
+            authenticated()
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                    .when()
+                    .get(TASKS)
+                    .then()
+                    .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+            jdbcTemplate.update("UPDATE collection_versions SET version = version + 1 WHERE user_id = ?", userId);
+
+            authenticated()
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                    .when()
+                    .get(TASKS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        } finally {
+            collectionVersionIndex.setSynchronizedWithCluster(true);
+        }
+    }
+
+    private String createTask() {
+        return authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostTaskDto.builder().title("Task").status("PENDING").priority("MEDIUM").build())
+                .when()
+                .post("/api/v1/projects/" + projectId + "/tasks")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    private String eTagOf(String path) {
+        return authenticated()
+                .when()
+                .get(path)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+    }
+
+    private RequestSpecification authenticated() {
+        return given().header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    }
+
+}
@@ -0,0 +1,148 @@
+package andrehsvictor.dotask.etag;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.Benchmark.Timed;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Simulates a client polling a task, once re-downloading it every time and
+ * once revalidating with {@code If-None-Match}, and compares the bytes
+ * received and the p99 latency. Run with {@code -Dbenchmark=true} and
+ * optionally {@code -Dbenchmark.requests=<count>}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConditionalGetBenchmarkIT extends AbstractIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String accessToken;
+    private String taskId;
+
+    @BeforeEach
+    void setup() {
+        accessToken = createVerifiedUserAndLogin().accessToken();
+
+        String projectId = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Polled project").description("x".repeat(150)).build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+
+        taskId = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(PostTaskDto.builder()
+                        .title("Polled task")
+                        .description("y".repeat(150))
+                        .status("PENDING")
+                        .priority("HIGH")
+                        .build())
+                .when()
+                .post("/api/v1/projects/" + projectId + "/tasks")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    @Test
+    void shouldCutBytesAndLatencyForPollingClients() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 5_000);
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            poll(client, requests / 5, null);
+            String eTag = poll(client, 1, null).eTag();
+            poll(client, requests / 5, eTag);
+
+            Result unconditional = poll(client, requests, null);
+            Result conditional = poll(client, requests, eTag);
+
+            log.info("Unconditional polling: {} bytes/response, p50 {}, p99 {}", unconditional.bytes() / requests,
+                    Benchmark.millis(unconditional.percentile(0.50)), Benchmark.millis(unconditional.percentile(0.99)));
+            log.info("Conditional polling: {} bytes/response, p50 {}, p99 {}", conditional.bytes() / requests,
+                    Benchmark.millis(conditional.percentile(0.50)), Benchmark.millis(conditional.percentile(0.99)));
+
+            assertThat(conditional.bytes()).isLessThan(unconditional.bytes() / 2);
+            assertThat(conditional.percentile(0.99)).isLessThan(unconditional.percentile(0.99));
+        }
+    }
+
+    private Result poll(HttpClient client, int requests, String eTag) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks/" + taskId))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+        if (eTag != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        HttpRequest request = builder.build();
+        int expectedStatus = eTag != null ? HttpStatus.NOT_MODIFIED.value() : HttpStatus.OK.value();
+
+        long[] latencies = new long[requests];
+        long bytes = 0;
+        String lastETag = null;
+        for (int i = 0; i < requests; i++) {
+            Timed<HttpResponse<byte[]>> timed = Benchmark.timed(
+                    () -> client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+            HttpResponse<byte[]> response = timed.result();
+            latencies[i] = timed.elapsed().toNanos();
+            assertThat(response.statusCode()).isEqualTo(expectedStatus);
+            bytes += response.body().length + headerBytes(response);
+            lastETag = response.headers().firstValue(HttpHeaders.ETAG).orElse(null);
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, bytes, lastETag);
+    }
+
+    private long headerBytes(HttpResponse<?> response) {
+        long bytes = "HTTP/1.1 200 OK\r\n\r\n".length();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                bytes += header.getKey().length() + value.length() + 4;
+            }
+        }
+        return bytes;
+    }
+
+    private record Result(long[] latencies, long bytes, String eTag) {
+
+        Duration percentile(double percentile) {
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return Duration.ofNanos(latencies[Math.max(index, 0)]);
+        }
+
+    }
+
+}
@@ -0,0 +1,292 @@
+package andrehsvictor.dotask.etag;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.project.dto.PutProjectDto;
+import andrehsvictor.dotask.task.Task;
+import andrehsvictor.dotask.task.TaskRepository;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.task.dto.PutTaskDto;
+import andrehsvictor.dotask.user.UserRepository;
+import andrehsvictor.dotask.user.dto.PutUserDto;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import jakarta.persistence.EntityManagerFactory;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ConditionalRequestIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String accessToken;
+    private String projectId;
+    private String taskId;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        accessToken = createVerifiedUserAndLogin().accessToken();
+
+        projectId = authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Project").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+
+        taskId = createTask();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAnswerIfNoneMatchWithNotModifiedWithoutLoadingTask() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String eTag = get("/api/v1/tasks/" + taskId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.LAST_MODIFIED, notNullValue())
+                .extract()
+                .header(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isPositive();
+
+        statistics.clear();
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/api/v1/tasks/" + taskId)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, equalTo(eTag))
+                .body(emptyString());
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldAnswerIfModifiedSinceWithNotModified() {
+        String lastModified = get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.LAST_MODIFIED);
+
+        authenticated()
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void shouldChangeTaskETagWhenTaskOrItsProjectChanges() {
+        String original = eTagOf("/api/v1/tasks/" + taskId);
+
+        authenticated()
+                .contentType(ContentType.JSON)
+                .body(PutProjectDto.builder().name("Renamed").build())
+                .when()
+                .put("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, original)
+                .when()
+                .get("/api/v1/tasks/" + taskId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("project.name", equalTo("Renamed"));
+    }
+
+    @Test
+    void shouldChangeProjectETagWhenTaskCountChanges() {
+        String original = eTagOf("/api/v1/projects/" + projectId);
+
+        createTask();
+
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, original)
+                .when()
+                .get("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("taskCount", equalTo(2));
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleIfMatch() {
+        String original = eTagOf("/api/v1/tasks/" + taskId);
+
+        String updated = authenticated()
+                .header(HttpHeaders.IF_MATCH, original)
+                .contentType(ContentType.JSON)
+                .body(PutTaskDto.builder().title("First writer").status("PENDING").priority("HIGH").build())
+                .when()
+                .put("/api/v1/tasks/" + taskId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+        assertThat(updated).isNotEqualTo(original).isEqualTo(eTagOf("/api/v1/tasks/" + taskId));
+
+        authenticated()
+                .header(HttpHeaders.IF_MATCH, original)
+                .contentType(ContentType.JSON)
+                .body(PutTaskDto.builder().title("Second writer").status("PENDING").priority("LOW").build())
+                .when()
+                .put("/api/v1/tasks/" + taskId)
+                .then()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        get("/api/v1/tasks/" + taskId)
+                .then()
+                .body("title", equalTo("First writer"));
+    }
+
+    @Test
+    void shouldLetOnlyOneConcurrentWriterWithTheSameIfMatchThrough() {
+        String original = eTagOf("/api/v1/tasks/" + taskId);
+
+        List<Integer> statusCodes;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            statusCodes = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> authenticated()
+                            .header(HttpHeaders.IF_MATCH, original)
+                            .contentType(ContentType.JSON)
+                            .body(PutTaskDto.builder().title("Writer " + i).status("PENDING").priority("HIGH").build())
+                            .when()
+                            .put("/api/v1/tasks/" + taskId)
+                            .statusCode(), executor))
+                    .toList()
+                    .stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        }
+
+        assertThat(statusCodes)
+                .containsOnly(HttpStatus.OK.value(), HttpStatus.PRECONDITION_FAILED.value())
+                .filteredOn(statusCode -> statusCode == HttpStatus.OK.value())
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldHonorIfMatchOnProjectAndUserUpdates() {
+        authenticated()
+                .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                .contentType(ContentType.JSON)
+                .body(PutProjectDto.builder().name("Blind overwrite").build())
+                .when()
+                .put("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        String eTag = eTagOf("/api/v1/users/me");
+        String updated = authenticated()
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(ContentType.JSON)
+                .body(PutUserDto.builder().name("Renamed User").build())
+                .when()
+                .put("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, updated)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownTaskRegardlessOfValidators() {
+        authenticated()
+                .header(HttpHeaders.IF_NONE_MATCH, "*")
+                .when()
+                .get("/api/v1/tasks/" + UUID.randomUUID())
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    private String createTask() {
+        return authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostTaskDto.builder().title("Task").status("PENDING").priority("MEDIUM").build())
+                .when()
+                .post("/api/v1/projects/" + projectId + "/tasks")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    private String eTagOf(String path) {
+        return get(path)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+    }
+
+    private Response get(String path) {
+        return authenticated()
+                .when()
+                .get(path);
+    }
+
+    private RequestSpecification authenticated() {
+        return given().header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    }
+
+}
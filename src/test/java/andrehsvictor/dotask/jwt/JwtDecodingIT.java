@@ -0,0 +1,95 @@
+package andrehsvictor.dotask.jwt;
+
+import static io.restassured.RestAssured.given;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.user.UserRepository;
+
+class JwtDecodingIT extends AbstractIntegrationTest {
+
+    @MockitoSpyBean
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String accessToken;
+    private String refreshToken;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        accessToken = user.accessToken();
+        refreshToken = user.refreshToken();
+        clearInvocations(jwtDecoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldDecodeAccessTokenOncePerRequest() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        verify(jwtDecoder, times(1)).decode(anyString());
+    }
+
+    @Test
+    void shouldRejectRefreshTokenAsBearerAfterSingleDecode() {
+        given()
+                .header("Authorization", "Bearer " + refreshToken)
+                .when()
+                .get("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+
+        verify(jwtDecoder, times(1)).decode(anyString());
+    }
+
+    @Test
+    void shouldResolveCurrentUserFromAccessToken() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldRejectAccessTokenWithNonUuidSubject() {
+        String token = jwtService.issue("not-a-uuid", JwtType.ACCESS).getTokenValue();
+
+        given()
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+}
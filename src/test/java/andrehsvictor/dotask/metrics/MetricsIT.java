@@ -0,0 +1,98 @@
+package andrehsvictor.dotask.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.user.UserRepository;
+
+@AutoConfigureObservability(tracing = false)
+class MetricsIT extends AbstractIntegrationTest {
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+
+        accessToken = createVerifiedUserAndLogin().accessToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExposePrometheusMetricsOnManagementPort() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        String scrape = given()
+                .port(managementPort)
+                .when()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/api/v1/users/me\"")
+                .contains("http_server_requests_statements_count")
+                .contains("hikaricp_connections_active")
+                .contains("jwt_decode_seconds_count")
+                .contains("jwt_validation_revocation_seconds_count")
+                .contains("password_hashing_seconds_count")
+                .contains("password_hashing_queue_size")
+                .contains("email_outbox_size")
+                .contains("spring_data_repository_invocations_seconds_bucket");
+    }
+
+    @Test
+    void shouldOnlyExposeHealthAndPrometheusWithoutAuthentication() {
+        given()
+                .port(managementPort)
+                .when()
+                .get("/actuator/health")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        given()
+                .port(managementPort)
+                .when()
+                .get("/actuator/env")
+                .then()
+                .statusCode(not(HttpStatus.OK.value()));
+    }
+
+    @Test
+    void shouldNotServeActuatorOnApiPort() {
+        given()
+                .when()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(not(HttpStatus.OK.value()));
+    }
+
+}
@@ -0,0 +1,120 @@
+package andrehsvictor.dotask.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "virtual-threads.pinning-monitor.enabled=true",
+        "virtual-threads.pinning-monitor.threshold=0ms"
+})
+class VirtualThreadPinningIT extends AbstractIntegrationTest {
+
+    private static final int CONCURRENCY = 50;
+    private static final int REQUESTS = 400;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setup() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        accessToken = createVerifiedUserAndLogin().accessToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotPinCarrierThreadsOnJdbcPath() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    if (index % 4 == 0) {
+                        given()
+                                .header("Authorization", "Bearer " + accessToken)
+                                .contentType(ContentType.JSON)
+                                .body(PostProjectDto.builder().name("Project " + index).build())
+                                .when()
+                                .post("/api/v1/projects")
+                                .then()
+                                .statusCode(HttpStatus.CREATED.value());
+                    } else {
+                        given()
+                                .header("Authorization", "Bearer " + accessToken)
+                                .when()
+                                .get(index % 2 == 0 ? "/api/v1/users/me" : "/api/v1/projects")
+                                .then()
+                                .statusCode(HttpStatus.OK.value());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long before = pinningMonitor.pinnedCount();
+        pinDeliberately();
+        awaitPinnedCount(before + 1);
+
+        assertThat(pinningMonitor.pinnedCount())
+                .as("only the deliberate pinning should have been recorded")
+                .isEqualTo(1);
+    }
+
+    private void pinDeliberately() throws InterruptedException {
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+    }
+
+    private void awaitPinnedCount(long expected) throws InterruptedException {
+        awaitCondition(() -> pinningMonitor.pinnedCount() >= expected);
+    }
+
+}
@@ -0,0 +1,152 @@
+package andrehsvictor.dotask.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.Benchmark.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares Tomcat's platform thread pool with virtual threads when every
+ * request blocks on a slow downstream call, at 1k and 5k concurrent
+ * connections. With platform threads throughput is capped at
+ * {@code threads.max / latency}; with virtual threads only CPU limits it.
+ * Client and server share the JVM, so the latency is long enough for that
+ * cap to dominate even on a single core. Run with {@code -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsLoadIT {
+
+    private static final Duration DOWNSTREAM_LATENCY = Duration.ofSeconds(2);
+    private static final int PLATFORM_MAX_THREADS = 200;
+    private static final int WARM_UP_REQUESTS = 200;
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=false",
+            "server.tomcat.threads.max=" + PLATFORM_MAX_THREADS
+    })
+    class PlatformThreads extends LoadScenario {
+
+        @Override
+        void verify(int connections, Duration elapsed, long servedOnVirtualThreads) {
+            assertThat(servedOnVirtualThreads).isZero();
+            assertThat(elapsed).isGreaterThan(threadPoolFloor(connections).multipliedBy(9).dividedBy(10));
+        }
+
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends LoadScenario {
+
+        @Override
+        void verify(int connections, Duration elapsed, long servedOnVirtualThreads) {
+            assertThat(servedOnVirtualThreads).isEqualTo(connections);
+            assertThat(elapsed).isLessThan(threadPoolFloor(connections).multipliedBy(3).dividedBy(4));
+        }
+
+    }
+
+    @Import(SlowDownstreamConfig.class)
+    abstract static class LoadScenario extends AbstractIntegrationTest {
+
+        @LocalServerPort
+        private int port;
+
+        abstract void verify(int connections, Duration elapsed, long servedOnVirtualThreads);
+
+        @ParameterizedTest
+        @ValueSource(ints = { 1_000, 5_000 })
+        void shouldServeConcurrentConnections(int connections) {
+            fire(WARM_UP_REQUESTS);
+
+            Timed<Long> virtual = Benchmark.timed(() -> fire(connections));
+
+            log.info("{}, {} concurrent connections: {} ms, {} req/s, {} served on virtual threads "
+                    + "(a {}-thread pool needs at least {} ms)",
+                    getClass().getSimpleName(), connections, virtual.elapsed().toMillis(),
+                    Benchmark.perSecond(connections, virtual.elapsed()), virtual.result(), PLATFORM_MAX_THREADS,
+                    threadPoolFloor(connections).toMillis());
+
+            verify(connections, virtual.elapsed(), virtual.result());
+        }
+
+        Duration threadPoolFloor(int connections) {
+            return DOWNSTREAM_LATENCY.multipliedBy((connections + PLATFORM_MAX_THREADS - 1) / PLATFORM_MAX_THREADS);
+        }
+
+        private long fire(int connections) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/benchmark/slow"))
+                    .timeout(Duration.ofMinutes(2))
+                    .build();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                    HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+                List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(connections);
+                for (int i = 0; i < connections; i++) {
+                    responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+                }
+                return responses.stream()
+                        .map(CompletableFuture::join)
+                        .peek(response -> assertThat(response.statusCode()).isEqualTo(200))
+                        .filter(response -> Boolean.parseBoolean(response.body()))
+                        .count();
+            }
+        }
+
+    }
+
+    @TestConfiguration
+    static class SlowDownstreamConfig {
+
+        @Bean
+        @Order(0)
+        SecurityFilterChain benchmarkSecurityFilterChain(HttpSecurity http) throws Exception {
+            return http
+                    .securityMatcher("/benchmark/**")
+                    .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll())
+                    .build();
+        }
+
+        @RestController
+        static class SlowDownstreamController {
+
+            @GetMapping("/benchmark/slow")
+            boolean slow() throws InterruptedException {
+                Thread.sleep(DOWNSTREAM_LATENCY);
+                return Thread.currentThread().isVirtual();
+            }
+
+        }
+
+    }
+
+}
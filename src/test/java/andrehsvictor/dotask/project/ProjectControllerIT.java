@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -228,6 +229,29 @@ class ProjectControllerIT extends AbstractIntegrationTest {
                 .statusCode(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    void shouldDeleteMultipleProjects() {
+        UUID id1 = createProjectAndReturnId();
+        UUID id2 = createProjectAndReturnId();
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(List.of(id1, id2, id1, UUID.randomUUID()))
+                .when()
+                .delete("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value())
+                .header("X-Deleted-Count", "2");
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/projects/{id}", id2)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     void shouldReturnUnauthorizedWhenCreatingProjectWithoutAuthentication() {
         PostProjectDto projectDto = PostProjectDto.builder()
@@ -0,0 +1,127 @@
+package andrehsvictor.dotask.ratelimit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+@TestPropertySource(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.token.per-ip=100/1h",
+        "rate-limit.token.per-email=3/1h",
+        "rate-limit.token-refresh.per-ip=2/1h"
+})
+class RateLimitIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldLimitLoginAttemptsPerEmail() {
+        String email = "attacked-" + UUID.randomUUID() + "@example.com";
+
+        for (int i = 0; i < 3; i++) {
+            requestToken(email)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+        String retryAfter = requestToken(email.toUpperCase())
+                .then()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .extract()
+                .header(HttpHeaders.RETRY_AFTER);
+        assertThat(Long.parseLong(retryAfter)).isPositive();
+
+        requestToken("other-" + UUID.randomUUID() + "@example.com")
+                .then()
+                .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    @Test
+    void shouldLimitRefreshPerIp() {
+        for (int i = 0; i < 2; i++) {
+            refreshToken()
+                    .then()
+                    .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()));
+        }
+
+        refreshToken()
+                .then()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .header(HttpHeaders.RETRY_AFTER, not(""));
+    }
+
+    @Test
+    void shouldNotLockOutUnseenKeysWhenBucketsAreFull() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend();
+        ReflectionTestUtils.setField(backend, "maxKeys", 1);
+        RateLimit limit = RateLimit.parse("token:email", "1/1h");
+
+        assertThat(backend.tryConsume(limit, "tracked@example.com")).isZero();
+        assertThat(backend.tryConsume(limit, "tracked@example.com")).isPositive();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(backend.tryConsume(limit, "first-" + i + "@example.com")).isZero();
+            assertThat(backend.tryConsume(limit, "first-" + i + "@example.com")).isZero();
+        }
+    }
+
+    @Test
+    void shouldRejectOversizedBodyWithoutBufferingIt() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("email", "big-" + UUID.randomUUID() + "@example.com",
+                        "password", "x".repeat(8 * 1024)))
+                .when()
+                .post("/api/v1/token")
+                .then()
+                .statusCode(HttpStatus.PAYLOAD_TOO_LARGE.value());
+    }
+
+    @Test
+    void shouldShareBucketsThroughJdbcBackend() {
+        JdbcRateLimitBackend backend = new JdbcRateLimitBackend(jdbcTemplate);
+        RateLimit limit = new RateLimit("test:" + UUID.randomUUID(), 2, Duration.ofHours(1));
+
+        assertThat(backend.tryConsume(limit, "client")).isZero();
+        assertThat(backend.tryConsume(limit, "client")).isZero();
+
+        Duration wait = backend.tryConsume(limit, "client");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(30));
+
+        assertThat(backend.tryConsume(limit, "other-client")).isZero();
+    }
+
+    private Response requestToken(String email) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("email", email, "password", "Wrong123!@#"))
+                .when()
+                .post("/api/v1/token");
+    }
+
+    private Response refreshToken() {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("refreshToken", "invalid-token"))
+                .when()
+                .post("/api/v1/token/refresh");
+    }
+
+}
@@ -0,0 +1,106 @@
+package andrehsvictor.dotask.ratelimit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.user.dto.PostUserDto;
+import io.restassured.http.ContentType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fires a credential-stuffing burst at the login endpoint and compares the
+ * process CPU time it costs against what the same number of BCrypt checks
+ * would cost. Run with {@code -Dbenchmark=true} and optionally
+ * {@code -Dbenchmark.requests=<count>}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = "rate-limit.enabled=true")
+class RateLimitLoadIT extends AbstractIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Value("${security.password.bcrypt-strength}")
+    private int bcryptStrength;
+
+    @Test
+    void shouldKeepCpuFlatUnderCredentialStuffing() throws Exception {
+        String email = "victim-" + UUID.randomUUID() + "@example.com";
+        given()
+                .contentType(ContentType.JSON)
+                .body(PostUserDto.builder()
+                        .name("Victim")
+                        .email(email)
+                        .password("Test123!@#")
+                        .build())
+                .when()
+                .post("/api/v1/users")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        int requests = Integer.getInteger("benchmark.requests", 2_000);
+        AtomicInteger limited = new AtomicInteger();
+
+        Duration attackCpu = Benchmark.cpuTime(() -> {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                    String password = "Guess" + i + "!@#";
+                    futures.add(executor.submit(() -> {
+                        int status = given()
+                                .contentType(ContentType.JSON)
+                                .body(Map.of("email", email, "password", password))
+                                .when()
+                                .post("/api/v1/token")
+                                .statusCode();
+                        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                            limited.incrementAndGet();
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        });
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        String hash = bcrypt.encode("Test123!@#");
+        Duration bcryptCpu = Benchmark.cpuTime(() -> {
+            for (int i = 0; i < 10; i++) {
+                bcrypt.matches("Wrong123!@#", hash);
+            }
+        }).dividedBy(10);
+        Duration unlimitedCpu = bcryptCpu.multipliedBy(requests);
+
+        log.info("Login burst of {} requests: {} rejected with 429, CPU {} ms "
+                + "(unthrottled BCrypt alone would cost ~{} ms)",
+                requests, limited.get(), attackCpu.toMillis(), unlimitedCpu.toMillis());
+
+        assertThat(limited.get()).isGreaterThan(requests * 9 / 10);
+        assertThat(attackCpu).isLessThan(unlimitedCpu.dividedBy(5));
+    }
+
+}
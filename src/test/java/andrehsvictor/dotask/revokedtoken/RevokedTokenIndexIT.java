@@ -0,0 +1,149 @@
+package andrehsvictor.dotask.revokedtoken;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.notification.PostgresNotificationListener;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+
+@TestPropertySource(properties = "notification-listener.reconnect-delay=1s")
+class RevokedTokenIndexIT extends AbstractIntegrationTest {
+
+    @MockitoSpyBean
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RevokedTokenIndex revokedTokenIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+
+        accessToken = createVerifiedUserAndLogin().accessToken();
+        clearInvocations(revokedTokenRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotQueryDatabaseForTokenThatWasNeverRevoked() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        verify(revokedTokenRepository, never()).existsByJti(any());
+    }
+
+    @Test
+    void shouldIndexRevokedTokenAndRejectIt() {
+        int sizeBefore = revokedTokenIndex.size();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("token", accessToken))
+                .when()
+                .post("/api/v1/token/revoke")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        assertThat(revokedTokenIndex.size()).isEqualTo(sizeBefore + 1);
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldIgnoreAlreadyExpiredTokens() {
+        int sizeBefore = revokedTokenIndex.size();
+
+        revokedTokenIndex.add(UUID.randomUUID(), Instant.now().minusSeconds(1));
+
+        assertThat(revokedTokenIndex.size()).isEqualTo(sizeBefore);
+    }
+
+    @Test
+    void shouldApplyRevocationPublishedByAnotherNode() throws InterruptedException {
+        UUID jti = UUID.randomUUID();
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)",
+                RevokedTokenListener.CHANNEL,
+                RevokedTokenListener.toPayload(jti, Instant.now().plusSeconds(60)));
+
+        awaitCondition(() -> revokedTokenIndex.contains(jti));
+    }
+
+    @Test
+    void shouldRejectRevokedTokenFromIndexWithoutDatabaseOnceSynchronized() throws InterruptedException {
+        awaitCondition(revokedTokenIndex::isSynchronizedWithCluster);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("token", accessToken))
+                .when()
+                .post("/api/v1/token/revoke")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        clearInvocations(revokedTokenRepository);
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/users/me")
+                .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+
+        verify(revokedTokenRepository, never()).existsByJti(any());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseWhileListenerIsDisconnected() throws InterruptedException {
+        awaitCondition(revokedTokenIndex::isSynchronizedWithCluster);
+
+        jdbcTemplate.queryForList("""
+                SELECT pg_terminate_backend(pid)
+                FROM pg_stat_activity
+                WHERE application_name = ?
+                """, PostgresNotificationListener.APPLICATION_NAME);
+
+        awaitCondition(() -> !revokedTokenIndex.isSynchronizedWithCluster());
+        awaitCondition(revokedTokenIndex::isSynchronizedWithCluster);
+    }
+
+}
@@ -1,14 +1,21 @@
 package andrehsvictor.dotask.task;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,11 +30,12 @@ import andrehsvictor.dotask.project.dto.PostProjectDto;
 import andrehsvictor.dotask.task.dto.GetTaskDto;
 import andrehsvictor.dotask.task.dto.PostTaskDto;
 import andrehsvictor.dotask.user.UserRepository;
-import andrehsvictor.dotask.user.dto.PostUserDto;
 import io.restassured.http.ContentType;
 
 class ProjectTaskControllerIT extends AbstractIntegrationTest {
 
+    private static final int CONCURRENCY = 8;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -39,7 +47,7 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
 
     private String accessToken;
     private UUID projectId;
-    private int taskCounter = 0;
+    private final AtomicInteger taskCounter = new AtomicInteger();
 
     @BeforeEach
     void setup() {
@@ -47,34 +55,7 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
         projectRepository.deleteAll();
         userRepository.deleteAll();
 
-        String email = "test-user-" + UUID.randomUUID() + "@example.com";
-        String password = "Test123!@#";
-
-        PostUserDto user = PostUserDto.builder()
-                .name("Test User")
-                .email(email)
-                .password(password)
-                .build();
-
-        given()
-                .contentType(ContentType.JSON)
-                .body(user)
-                .when()
-                .post("/api/v1/users");
-
-        var createdUser = userRepository.findByEmail(email).orElseThrow();
-        createdUser.setEmailVerified(true);
-        userRepository.save(createdUser);
-
-        accessToken = given()
-                .contentType(ContentType.JSON)
-                .body(Map.of("email", email, "password", password))
-                .when()
-                .post("/api/v1/token")
-                .then()
-                .statusCode(HttpStatus.OK.value())
-                .extract()
-                .path("accessToken");
+        accessToken = createVerifiedUserAndLogin().accessToken();
 
         createTestProject();
     }
@@ -108,7 +89,54 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
                 .then()
                 .statusCode(HttpStatus.CREATED.value())
                 .body("id", notNullValue())
-                .body("project.id", equalTo(projectId.toString()));
+                .body("project.id", equalTo(projectId.toString()))
+                .body("project.taskCount", equalTo(1));
+    }
+
+    @Test
+    void shouldKeepTaskCountExactUnderConcurrentCreatesAndDeletes() {
+        List<UUID> taskIds = IntStream.range(0, 25).mapToObj(i -> createTaskForProject()).toList();
+        List<Runnable> writes = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            UUID taskId = taskIds.get(i);
+            writes.add(() -> given()
+                    .header("Authorization", "Bearer " + accessToken)
+                    .when()
+                    .delete("/api/v1/tasks/{id}", taskId)
+                    .then()
+                    .statusCode(HttpStatus.NO_CONTENT.value()));
+            writes.add(this::createTaskForProject);
+            writes.add(this::createTaskForProject);
+        }
+        for (int i = 0; i < 2; i++) {
+            List<UUID> batch = taskIds.subList(15 + i * 5, 20 + i * 5);
+            writes.add(i * 20, () -> given()
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(ContentType.JSON)
+                    .body(batch)
+                    .when()
+                    .delete("/api/v1/tasks")
+                    .then()
+                    .statusCode(HttpStatus.NO_CONTENT.value()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            CompletableFuture.allOf(writes.stream()
+                    .map(write -> CompletableFuture.runAsync(write, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/projects/{id}", projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("taskCount", equalTo(30));
+        assertThat(taskRepository.count()).isEqualTo(30);
     }
 
     @Test
@@ -187,6 +215,24 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
                 .body("content.findAll { it.projectId == null }.size()", greaterThanOrEqualTo(1));
     }
 
+    @Test
+    void shouldNotTouchProjectWhenNoBatchItemIsValid() {
+        var updatedAt = projectRepository.findById(projectId).orElseThrow().getUpdatedAt();
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(List.of(PostTaskDto.builder().title("").build()))
+                .when()
+                .post("/api/v1/projects/{projectId}/tasks:batch", projectId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("created", equalTo(0))
+                .body("failed", equalTo(1));
+
+        assertThat(projectRepository.findById(projectId).orElseThrow().getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
     @Test
     void shouldReturnNotFoundForNonExistentProject() {
         UUID nonExistentId = UUID.randomUUID();
@@ -235,9 +281,9 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
     }
 
     private UUID createTaskForProject() {
-        taskCounter++;
-        String title = "Project Task " + taskCounter;
-        String description = "This is a test task description " + taskCounter;
+        int taskNumber = taskCounter.incrementAndGet();
+        String title = "Project Task " + taskNumber;
+        String description = "This is a test task description " + taskNumber;
 
         PostTaskDto taskDto = PostTaskDto.builder()
                 .title(title)
@@ -254,6 +300,7 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
                 .when()
                 .post("/api/v1/projects/{projectId}/tasks", projectId)
                 .then()
+                .statusCode(HttpStatus.CREATED.value())
                 .extract()
                 .as(GetTaskDto.class)
                 .getId();
@@ -266,8 +313,8 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
     }
 
     private void createTaskForProjectWithStatus(TaskStatus status) {
-        taskCounter++;
-        String title = "Task with status " + status + " " + taskCounter;
+        int taskNumber = taskCounter.incrementAndGet();
+        String title = "Task with status " + status + " " + taskNumber;
         String description = "This is a task with status " + status;
 
         PostTaskDto taskDto = PostTaskDto.builder()
@@ -287,8 +334,8 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
     }
 
     private void createTaskForProjectWithPriority(String priority) {
-        taskCounter++;
-        String title = "Task with priority " + priority + " " + taskCounter;
+        int taskNumber = taskCounter.incrementAndGet();
+        String title = "Task with priority " + priority + " " + taskNumber;
         String description = "This is a task with priority " + priority;
 
         PostTaskDto taskDto = PostTaskDto.builder()
@@ -308,9 +355,9 @@ class ProjectTaskControllerIT extends AbstractIntegrationTest {
     }
 
     private void createTaskWithoutProject() {
-        taskCounter++;
-        String title = "Task without project " + taskCounter;
-        String description = "This task is not associated with any project " + taskCounter;
+        int taskNumber = taskCounter.incrementAndGet();
+        String title = "Task without project " + taskNumber;
+        String description = "This task is not associated with any project " + taskNumber;
 
         PostTaskDto taskDto = PostTaskDto.builder()
                 .title(title)
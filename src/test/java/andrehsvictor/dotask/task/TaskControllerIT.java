@@ -1,17 +1,24 @@
 package andrehsvictor.dotask.task;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.AfterEach;
@@ -120,6 +127,70 @@ class TaskControllerIT extends AbstractIntegrationTest {
                 .getId();
     }
 
+    @Test
+    void shouldCreateTasksInBatch() {
+        List<PostTaskDto> postTaskDtos = List.of(
+                PostTaskDto.builder().title("Batch Task 1").status("PENDING").priority("LOW").build(),
+                PostTaskDto.builder().title("").status("PENDING").priority("LOW").build(),
+                PostTaskDto.builder().title("Batch Task 3").status("IN_PROGRESS").priority("HIGH").build());
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(postTaskDtos)
+                .when()
+                .post("/api/v1/tasks:batch")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("created", equalTo(2))
+                .body("failed", equalTo(1))
+                .body("results", hasSize(3))
+                .body("results[0].created", equalTo(true))
+                .body("results[0].task.title", equalTo("Batch Task 1"))
+                .body("results[1].created", equalTo(false))
+                .body("results[1].errors.field", everyItem(equalTo("title")))
+                .body("results[2].task.status", equalTo("IN_PROGRESS"));
+
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReportUnconvertibleItemsInBatch() {
+        List<PostTaskDto> postTaskDtos = List.of(
+                PostTaskDto.builder().title("Missing Priority").status("IN_PROGRESS").build(),
+                PostTaskDto.builder().title("Invalid Date").dueDate("2025-02-30").build());
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(postTaskDtos)
+                .when()
+                .post("/api/v1/tasks:batch")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("created", equalTo(1))
+                .body("failed", equalTo(1))
+                .body("results[0].created", equalTo(true))
+                .body("results[0].task.status", equalTo("IN_PROGRESS"))
+                .body("results[0].task.priority", equalTo("LOW"))
+                .body("results[1].created", equalTo(false))
+                .body("results[1].errors.field", everyItem(equalTo("dueDate")));
+
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyBatch() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(List.of())
+                .when()
+                .post("/api/v1/tasks:batch")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     void shouldGetTaskById() {
         createTestTask();
@@ -159,6 +230,31 @@ class TaskControllerIT extends AbstractIntegrationTest {
                 .body("pageable", notNullValue());
     }
 
+    @Test
+    void shouldPageThroughEquallyRankedTasksWithoutRepeats() {
+        for (int i = 0; i < 6; i++) {
+            createTaskWithTitle("Ranked Tie");
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (int page = 0; page < 3; page++) {
+            List<String> pageIds = given()
+                    .header("Authorization", "Bearer " + accessToken)
+                    .queryParam("q", "Ranked Tie")
+                    .queryParam("rank", true)
+                    .queryParam("page", page)
+                    .queryParam("size", 2)
+                    .when()
+                    .get("/api/v1/tasks")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .path("content.id");
+            ids.addAll(pageIds);
+        }
+        assertThat(ids).hasSize(6);
+    }
+
     @Test
     void shouldFilterTasksByQuery() {
         String specialTitle = "UNIQUE_TITLE_TEST_" + UUID.randomUUID().toString().substring(0, 8);
@@ -176,6 +272,26 @@ class TaskControllerIT extends AbstractIntegrationTest {
                 .body("content[0].title", containsString(specialTitle));
     }
 
+    @Test
+    void shouldRankTasksByRelevance() {
+        createTaskWithTitle("Write the quarterly report for the board");
+        createTaskWithTitle("Report");
+        createTaskWithTitle("Review report");
+        createMultipleTasks(2);
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .queryParam("q", "report")
+                .queryParam("rank", true)
+                .when()
+                .get("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(3))
+                .body("content[0].title", equalTo("Report"))
+                .body("content[1].title", equalTo("Review report"));
+    }
+
     @Test
     void shouldFilterTasksByStatus() {
         createTaskWithStatus(TaskStatus.IN_PROGRESS);
@@ -213,6 +329,46 @@ class TaskControllerIT extends AbstractIntegrationTest {
                         greaterThanOrEqualTo(1));
     }
 
+    @Test
+    void shouldScrollTasksWithCursor() {
+        createMultipleTasks(5);
+        Set<String> seenIds = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+
+        do {
+            var page = given()
+                    .header("Authorization", "Bearer " + accessToken)
+                    .queryParam("cursor", cursor)
+                    .queryParam("limit", 2)
+                    .when()
+                    .get("/api/v1/tasks")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("content.size()", lessThanOrEqualTo(2))
+                    .body("totalElements", nullValue())
+                    .extract()
+                    .jsonPath();
+            seenIds.addAll(page.getList("content.id", String.class));
+            cursor = page.getString("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seenIds).hasSize(5);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     void shouldUpdateTask() {
         createTestTask();
@@ -291,7 +447,8 @@ class TaskControllerIT extends AbstractIntegrationTest {
                 .when()
                 .delete("/api/v1/tasks")
                 .then()
-                .statusCode(HttpStatus.NO_CONTENT.value());
+                .statusCode(HttpStatus.NO_CONTENT.value())
+                .header("X-Deleted-Count", "3");
 
         given()
                 .header("Authorization", "Bearer " + accessToken)
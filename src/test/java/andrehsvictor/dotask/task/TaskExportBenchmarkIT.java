@@ -0,0 +1,171 @@
+package andrehsvictor.dotask.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.Benchmark.Timed;
+import andrehsvictor.dotask.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports a million tasks through {@code GET /api/v1/tasks/export} while the
+ * server and the client share a heap far smaller than the materialized
+ * result. Run with {@code -Dbenchmark=true -DargLine=-Xmx128m} and optionally
+ * {@code -Dbenchmark.tasks=<rows>}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskExportBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final long MAX_HEAP = 256L * 1024 * 1024;
+    private static final long MAX_RETAINED = 16L * 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private String accessToken;
+    private UUID userId;
+    private int rows;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        userId = user.id();
+        accessToken = user.accessToken();
+
+        rows = Integer.getInteger("benchmark.tasks", 1_000_000);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at)
+                SELECT 'Task ' || md5(i::text), 'Description, "quoted" ' || md5((i * 31)::text), 'PENDING',
+                       'MEDIUM', ?, NOW() - i * INTERVAL '1 second', NOW()
+                FROM generate_series(1, ?) AS i
+                """, userId, rows);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExportMillionsOfTasksInConstantMemory() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory())
+                .as("the heap must be too small to hold the export, run with -DargLine=-Xmx128m")
+                .isLessThanOrEqualTo(MAX_HEAP);
+
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        Result ndjson = export("ndjson", false);
+        Result csv = export("csv", true);
+
+        System.gc();
+        long retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+
+        log.info("Exported {} tasks in a {} MB heap, {} KB retained afterwards",
+                rows, Runtime.getRuntime().maxMemory() >> 20, Math.max(retained, 0) >> 10);
+        log.info("NDJSON: {} ms, {} rows/s, {} MB, peak heap {} MB", ndjson.elapsed().toMillis(),
+                Benchmark.perSecond(rows, ndjson.elapsed()), ndjson.bytes() >> 20, ndjson.peakHeap() >> 20);
+        log.info("CSV, gzip: {} ms, {} rows/s, {} MB, peak heap {} MB", csv.elapsed().toMillis(),
+                Benchmark.perSecond(rows, csv.elapsed()), csv.bytes() >> 20, csv.peakHeap() >> 20);
+
+        assertThat(ndjson.lines()).isEqualTo(rows);
+        assertThat(csv.lines()).isEqualTo(rows + 1);
+        assertThat(retained).isLessThan(MAX_RETAINED);
+    }
+
+    private Result export(String format, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/tasks/export?format=" + format))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            Timed<long[]> counts = Benchmark.timed(() -> {
+                HttpResponse<InputStream> response = client.send(request.build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+                try (InputStream body = gzip ? new GZIPInputStream(response.body()) : response.body()) {
+                    return countLines(body, format.equals("csv"));
+                }
+            });
+            return new Result(counts.result()[0], counts.result()[1], counts.elapsed(), peakHeap.get());
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+    }
+
+    private long[] countLines(InputStream body, boolean csv) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long lines = 0;
+        long bytes = 0;
+        boolean quoted = false;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            bytes += read;
+            for (int i = 0; i < read; i++) {
+                if (csv && buffer[i] == '"') {
+                    quoted = !quoted;
+                } else if (buffer[i] == '\n' && !quoted) {
+                    lines++;
+                }
+            }
+        }
+        return new long[] { lines, bytes };
+    }
+
+    private record Result(long lines, long bytes, Duration elapsed, long peakHeap) {
+    }
+
+}
@@ -0,0 +1,269 @@
+package andrehsvictor.dotask.task;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.exception.TaskExportBusyException;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+
+class TaskExportIT extends AbstractIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskExporter taskExporter;
+
+    @Value("${task-export.concurrency}")
+    private int exportConcurrency;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        accessToken = createVerifiedUserAndLogin().accessToken();
+
+        String projectId = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Home").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+
+        createTask(accessToken, "/api/v1/tasks", "First", "plain", "PENDING");
+        createTask(accessToken, "/api/v1/projects/" + projectId + "/tasks", "Second", "with, comma", "IN_PROGRESS");
+        createTask(accessToken, "/api/v1/tasks", "Third", "with \"quotes\"\nand a line break", "PENDING");
+
+        String otherAccessToken = createVerifiedUserAndLogin().accessToken();
+        createTask(otherAccessToken, "/api/v1/tasks", "Not mine", null, "PENDING");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExportTasksAsNdjsonNewestFirst() throws IOException {
+        String body = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/tasks/export")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(containsString("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, containsString("tasks.ndjson"))
+                .extract()
+                .asString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(3);
+        List<JsonNode> tasks = lines.stream().map(this::readTree).toList();
+        assertThat(tasks).extracting(task -> task.get("title").asText())
+                .containsExactly("Third", "Second", "First");
+        assertThat(tasks.get(1).get("project").get("name").asText()).isEqualTo("Home");
+        assertThat(tasks.get(0).get("description").asText()).isEqualTo("with \"quotes\"\nand a line break");
+    }
+
+    @Test
+    void shouldApplyListFiltersToExport() {
+        String body = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .queryParam("status", "PENDING")
+                .queryParam("hasProject", false)
+                .when()
+                .get("/api/v1/tasks/export")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asString();
+
+        assertThat(body.lines().map(this::readTree).map(task -> task.get("title").asText()))
+                .containsExactly("Third", "First");
+    }
+
+    @Test
+    void shouldExportTasksAsCsv() {
+        String body = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .queryParam("format", "csv")
+                .when()
+                .get("/api/v1/tasks/export")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(containsString("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, containsString("tasks.csv"))
+                .extract()
+                .asString();
+
+        assertThat(body).startsWith(
+                "id,title,description,status,priority,dueDate,createdAt,updatedAt,projectId,projectName\r\n");
+        assertThat(body).contains(",Third,\"with \"\"quotes\"\"\nand a line break\",PENDING,");
+        assertThat(body).contains(",Second,\"with, comma\",IN_PROGRESS,");
+        assertThat(body.split("\r\n")).hasSize(4);
+    }
+
+    @Test
+    void shouldCompressExportWhenClientAcceptsGzip() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks/export"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+                String body = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+                assertThat(body.lines()).hasSize(3);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectUnsupportedFormat() {
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .queryParam("format", "xml")
+                .when()
+                .get("/api/v1/tasks/export")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors[0]", equalTo("Unsupported export format: xml"));
+    }
+
+    @Test
+    void shouldRejectExportsWhileEverySlotIsTaken() {
+        for (int i = 0; i < exportConcurrency; i++) {
+            taskExporter.acquire();
+        }
+        try {
+            given()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .when()
+                    .get("/api/v1/tasks/export")
+                    .then()
+                    .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                    .header(HttpHeaders.RETRY_AFTER, equalTo("5"));
+        } finally {
+            for (int i = 0; i < exportConcurrency; i++) {
+                taskExporter.release();
+            }
+        }
+
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/tasks/export")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldGiveSlotsBackWhenExportsComplete() throws InterruptedException {
+        for (int i = 0; i <= exportConcurrency; i++) {
+            given()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .when()
+                    .get("/api/v1/tasks/export")
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        }
+
+        awaitCondition(this::everySlotIsFree);
+    }
+
+    private boolean everySlotIsFree() {
+        int acquired = 0;
+        try {
+            for (; acquired < exportConcurrency; acquired++) {
+                taskExporter.acquire();
+            }
+            return true;
+        } catch (TaskExportBusyException e) {
+            return false;
+        } finally {
+            for (int i = 0; i < acquired; i++) {
+                taskExporter.release();
+            }
+        }
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createTask(String token, String path, String title, String description, String status) {
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .body(PostTaskDto.builder()
+                        .title(title)
+                        .description(description)
+                        .status(status)
+                        .priority("MEDIUM")
+                        .build())
+                .when()
+                .post(path)
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+    }
+
+}
@@ -0,0 +1,176 @@
+package andrehsvictor.dotask.task;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.Benchmark.Timed;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares importing tasks through {@code POST /api/v1/tasks/imports} with
+ * creating the same number of tasks through the batch endpoint. Run with
+ * {@code -Dbenchmark=true} and optionally {@code -Dbenchmark.tasks=<rows>}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskImportBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String accessToken;
+    private UUID userId;
+    private int rows;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        userId = user.id();
+        accessToken = user.accessToken();
+
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Migrated").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        rows = Integer.getInteger("benchmark.tasks", 100_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportFasterThanBatchCreation() throws InterruptedException {
+        List<List<PostTaskDto>> batches = batches();
+        byte[] ndjson = ndjson();
+
+        Duration batchTime = Benchmark.time(() -> createInBatches(batches));
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+
+        Timed<JsonPath> imported = Benchmark.timed(() -> {
+            String jobId = given()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType("application/x-ndjson")
+                    .body(ndjson)
+                    .when()
+                    .post("/api/v1/tasks/imports")
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .extract()
+                    .path("id");
+            return await(jobId);
+        });
+        JsonPath job = imported.result();
+        Duration importTime = imported.elapsed();
+
+        log.info("Batch endpoint: {} tasks in {} ms, {} rows/s",
+                rows, batchTime.toMillis(), Benchmark.perSecond(rows, batchTime));
+        log.info("Import: {} tasks in {} ms, {} rows/s",
+                rows, importTime.toMillis(), Benchmark.perSecond(rows, importTime));
+
+        assertThat(job.getString("status")).isEqualTo("COMPLETED");
+        assertThat(job.getLong("importedRows")).isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT task_count FROM projects WHERE user_id = ?",
+                Integer.class, userId)).isEqualTo((rows + 1) / 2);
+        assertThat(importTime).isLessThan(batchTime);
+    }
+
+    private void createInBatches(List<List<PostTaskDto>> batches) {
+        for (List<PostTaskDto> batch : batches) {
+            given()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType(ContentType.JSON)
+                    .body(batch)
+                    .when()
+                    .post("/api/v1/tasks:batch")
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        }
+    }
+
+    private List<List<PostTaskDto>> batches() {
+        List<List<PostTaskDto>> batches = new ArrayList<>();
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            List<PostTaskDto> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(from + BATCH_SIZE, rows); i++) {
+                batch.add(PostTaskDto.builder()
+                        .title("Task " + i)
+                        .description("Imported, \"quoted\" description " + i)
+                        .status("PENDING")
+                        .priority("MEDIUM")
+                        .dueDate("2026-12-31")
+                        .build());
+            }
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private byte[] ndjson() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < rows; i++) {
+            String project = i % 2 == 0 ? ",\"projectName\":\"Migrated\"" : "";
+            body.writeBytes(("{\"title\":\"Task " + i + "\",\"description\":\"Imported, \\\"quoted\\\" description "
+                    + i + "\",\"status\":\"PENDING\",\"priority\":\"MEDIUM\",\"dueDate\":\"2026-12-31\"" + project
+                    + "}\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return body.toByteArray();
+    }
+
+    private JsonPath await(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 300_000;
+        while (true) {
+            JsonPath job = given()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .when()
+                    .get("/api/v1/tasks/imports/" + jobId)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .jsonPath();
+            String status = job.getString("status");
+            if (status.equals("COMPLETED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+}
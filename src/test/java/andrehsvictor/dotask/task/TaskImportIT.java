@@ -0,0 +1,313 @@
+package andrehsvictor.dotask.task;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.Project;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+
+@TestPropertySource(properties = "task-import.queue-capacity=0")
+class TaskImportIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+    private String accessToken;
+    private String projectId;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        userId = user.id();
+        accessToken = user.accessToken();
+        projectId = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Home").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportCsvAndReportRejectedRowsByLine() throws InterruptedException {
+        String csv = """
+                title,description,status,priority,dueDate,projectName\r
+                Buy milk,"Two, maybe three",PENDING,HIGH,2026-10-20,Home\r
+                Write report,"Quoted ""draft""
+                spanning lines",IN_PROGRESS,,,\r
+                No,,PENDING,LOW,,\r
+                Pay rent,,DONE,LOW,2026-02-30,\r
+                Call mom,,,,,Unknown\r
+                Walk dog,,,MEDIUM,2026-02-28,Home\r
+                """;
+
+        JsonPath job = importAndAwait("csv", "text/csv", csv);
+
+        assertThat(job.getString("status")).isEqualTo("COMPLETED");
+        assertThat(job.getLong("processedRows")).isEqualTo(6);
+        assertThat(job.getLong("importedRows")).isEqualTo(3);
+        assertThat(job.getLong("failedRows")).isEqualTo(3);
+        assertThat(job.getList("errors.line", Integer.class)).containsExactly(5, 6, 7);
+        assertThat(job.getList("errors.field", String.class)).containsExactly("title", "status", "project");
+        assertThat(job.getString("errors[2].message")).isEqualTo("Project not found with name: 'Unknown'");
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(tasks).extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("Buy milk", "Write report", "Walk dog");
+        Task report = tasks.stream().filter(task -> task.getTitle().equals("Write report")).findFirst().orElseThrow();
+        assertThat(report.getDescription()).isEqualTo("Quoted \"draft\"\nspanning lines");
+        assertThat(report.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(report.getPriority()).isEqualTo(TaskPriority.LOW);
+        assertThat(report.getProject()).isNull();
+
+        Project project = projectRepository.findById(UUID.fromString(projectId)).orElseThrow();
+        assertThat(project.getTaskCount()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_import_rows", Long.class)).isZero();
+    }
+
+    @Test
+    void shouldImportNdjsonAndSkipMalformedLines() throws InterruptedException {
+        String ndjson = """
+                {"title":"First","priority":"MEDIUM","project":{"name":"Home"}}
+                not json
+
+                {"title":"Second","description":"plain","status":"IN_PROGRESS","dueDate":"2026-12-31"}
+                {"title":"Third","projectName":"Home"}
+                """;
+
+        JsonPath job = importAndAwait("ndjson", "application/x-ndjson", ndjson);
+
+        assertThat(job.getString("status")).isEqualTo("COMPLETED");
+        assertThat(job.getLong("processedRows")).isEqualTo(4);
+        assertThat(job.getLong("importedRows")).isEqualTo(3);
+        assertThat(job.getLong("failedRows")).isEqualTo(1);
+        assertThat(job.getList("errors.line", Integer.class)).containsExactly(2);
+
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(2))
+                .body("content[0].project.taskCount", equalTo(2));
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(3))
+                .body("inProgress", equalTo(1))
+                .body("byPriority.MEDIUM.pending", equalTo(1));
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(2))
+                .body("byPriority.LOW.pending", equalTo(1));
+        Task second = taskRepository.findAll().stream()
+                .filter(task -> task.getTitle().equals("Second"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(second.getDueDate()).hasToString("2026-12-31");
+        assertThat(second.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldNotExposeImportsOfOtherUsers() throws InterruptedException {
+        String jobId = importAndAwait("ndjson", "application/x-ndjson", "{\"title\":\"Mine\"}\n").getString("id");
+        String otherAccessToken = createVerifiedUserAndLogin().accessToken();
+
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + otherAccessToken)
+                .when()
+                .get("/api/v1/tasks/imports/" + jobId)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void shouldRejectImportsWhileEveryWorkerIsBusy() throws Exception {
+        List<PipedOutputStream> uploads = new ArrayList<>();
+        List<CompletableFuture<TaskImportJob>> jobs = new ArrayList<>();
+        CountDownLatch spooling = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            PipedOutputStream upload = new PipedOutputStream();
+            PipedInputStream body = new PipedInputStream(upload) {
+
+                @Override
+                public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+                    spooling.countDown();
+                    return super.read(buffer, offset, length);
+                }
+
+            };
+            uploads.add(upload);
+            jobs.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return taskImportService.start(userId, "ndjson", body);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        try {
+            assertThat(spooling.await(10, TimeUnit.SECONDS)).isTrue();
+
+            given()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType("application/x-ndjson")
+                    .body("{\"title\":\"Rejected\"}\n".getBytes(StandardCharsets.UTF_8))
+                    .queryParam("format", "ndjson")
+                    .when()
+                    .post("/api/v1/tasks/imports")
+                    .then()
+                    .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                    .header(HttpHeaders.RETRY_AFTER, notNullValue());
+        } finally {
+            for (PipedOutputStream upload : uploads) {
+                upload.write("{\"title\":\"Queued\"}\n".getBytes(StandardCharsets.UTF_8));
+                upload.close();
+            }
+        }
+
+        for (CompletableFuture<TaskImportJob> job : jobs) {
+            assertThat(awaitJob(job.get().getId().toString()).getString("status")).isEqualTo("COMPLETED");
+        }
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("Queued", "Queued");
+    }
+
+    @Test
+    void shouldFailOrphanedImports() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID orphanedId = insertJob(userId, "RUNNING", now.minusHours(1));
+        UUID pendingId = insertJob(userId, "PENDING", now.minusHours(1));
+        UUID aliveId = insertJob(userId, "RUNNING", now);
+        jdbcTemplate.update("INSERT INTO task_import_rows (job_id, line, title) VALUES (?, 1, 'Staged')", orphanedId);
+
+        taskImportService.failOrphanedJobs(now.minusMinutes(5));
+
+        TaskImportJob orphaned = taskImportService.findById(userId, orphanedId);
+        assertThat(orphaned.getStatus()).isEqualTo(TaskImportStatus.FAILED);
+        assertThat(orphaned.getError()).isNotBlank();
+        assertThat(orphaned.getCompletedAt()).isNotNull();
+        assertThat(taskImportService.findById(userId, pendingId).getStatus()).isEqualTo(TaskImportStatus.FAILED);
+        assertThat(taskImportService.findById(userId, aliveId).getStatus()).isEqualTo(TaskImportStatus.RUNNING);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_import_rows", Long.class)).isZero();
+    }
+
+    @Test
+    void shouldRejectUnsupportedImportFormat() {
+        given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType("application/xml")
+                .body("<tasks/>")
+                .queryParam("format", "xml")
+                .when()
+                .post("/api/v1/tasks/imports")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors[0]", equalTo("Unsupported import format: xml"));
+    }
+
+    private JsonPath importAndAwait(String format, String contentType, String body) throws InterruptedException {
+        String jobId = given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(contentType)
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .queryParam("format", format)
+                .when()
+                .post("/api/v1/tasks/imports")
+                .then()
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .header(HttpHeaders.LOCATION, notNullValue())
+                .extract()
+                .path("id");
+        return awaitJob(jobId);
+    }
+
+    private JsonPath awaitJob(String jobId) throws InterruptedException {
+        awaitCondition(() -> List.of("COMPLETED", "FAILED").contains(findJob(jobId).getString("status")));
+        return findJob(jobId);
+    }
+
+    private JsonPath findJob(String jobId) {
+        return given()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .when()
+                .get("/api/v1/tasks/imports/" + jobId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .jsonPath();
+    }
+
+    private UUID insertJob(UUID userId, String status, LocalDateTime updatedAt) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO task_import_jobs (user_id, format, status, updated_at)
+                VALUES (?, 'NDJSON', ?, ?)
+                RETURNING id
+                """, UUID.class, userId, status, Timestamp.valueOf(updatedAt));
+    }
+
+}
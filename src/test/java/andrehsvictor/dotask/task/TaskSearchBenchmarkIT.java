@@ -0,0 +1,122 @@
+package andrehsvictor.dotask.task;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.Benchmark;
+import andrehsvictor.dotask.Benchmark.Timed;
+import andrehsvictor.dotask.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds a large task table and times the repository's relevance ranked search,
+ * forced into a generic plan as a prepared statement would be, with and
+ * without the trigram indexes. Run with {@code -Dbenchmark=true} and optionally
+ * {@code -Dbenchmark.tasks=<rows>} (defaults to one million).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskSearchBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String accessToken;
+    private UUID userId;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        userId = user.id();
+        accessToken = user.accessToken();
+
+        int rows = Integer.getInteger("benchmark.tasks", 1_000_000);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at)
+                SELECT 'Task ' || md5(i::text), 'Description ' || md5((i * 31)::text), 'PENDING', 'MEDIUM', ?,
+                       NOW() - i * INTERVAL '1 second', NOW()
+                FROM generate_series(1, ?) AS i
+                """, userId, rows);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldSearchFasterWithTrigramIndexes() {
+        String query = jdbcTemplate.queryForObject(
+                "SELECT SUBSTRING(title FROM 6 FOR 8) FROM tasks WHERE user_id = ? LIMIT 1",
+                String.class, userId);
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .queryParam("q", query)
+                .queryParam("rank", true)
+                .when()
+                .get("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(1));
+
+        Duration indexed = Benchmark.fastest(ROUNDS, () -> search(query, false));
+        Duration sequential = Benchmark.fastest(ROUNDS, () -> search(query, true));
+
+        log.info("Task search over {} rows: indexed {}, sequential {}",
+                taskRepository.count(), Benchmark.millis(indexed), Benchmark.millis(sequential));
+
+        assertThat(indexed).isLessThan(sequential);
+    }
+
+    private Duration search(String query, boolean sequential) {
+        return transactionTemplate.execute(status -> {
+            // The driver prepares statements on the server after a few runs and
+            // a cached plan would outlive the planner settings it was made with.
+            jdbcTemplate.execute("DISCARD PLANS");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            if (sequential) {
+                jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+                jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            }
+            Timed<Page<TaskSummary>> tasks = Benchmark.timed(() -> taskRepository
+                    .findAllByUserIdWithFiltersRankedByRelevance(
+                            userId, query, null, null, null, null, null, PageRequest.of(0, 20)));
+            assertThat(tasks.result().getTotalElements()).isEqualTo(1);
+            return tasks.elapsed();
+        });
+    }
+
+}
@@ -0,0 +1,210 @@
+package andrehsvictor.dotask.task;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.Project;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.user.User;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+import jakarta.persistence.EntityManagerFactory;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskStatementCountIT extends AbstractIntegrationTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String accessToken;
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        VerifiedUser verifiedUser = createVerifiedUserAndLogin();
+        accessToken = verifiedUser.accessToken();
+        user = userRepository.findById(verifiedUser.id()).orElseThrow();
+
+        project = projectRepository.save(Project.builder()
+                .name("Statement Count Project")
+                .user(user)
+                .build());
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .dueDate(LocalDate.now().plusDays(i))
+                    .user(user)
+                    .project(i % 2 == 0 ? project : null)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldListPageOfTasksWithAtMostTwoStatements() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .queryParam("size", PAGE_SIZE)
+                .when()
+                .get("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(PAGE_SIZE));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldListProjectTasksWithAtMostTwoStatements() {
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .queryParam("size", PAGE_SIZE / 2)
+                .when()
+                .get("/api/v1/projects/{projectId}/tasks", project.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(PAGE_SIZE / 2));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldDeleteTasksWithOneStatementPlusOnePerProject() {
+        List<UUID> ids = taskRepository.findAll().stream().map(Task::getId).toList();
+        statistics.clear();
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(ids)
+                .when()
+                .delete("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value())
+                .header("X-Deleted-Count", String.valueOf(PAGE_SIZE));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldCreateBatchOfTasksWithBatchedInserts() {
+        List<PostTaskDto> postTaskDtos = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> PostTaskDto.builder()
+                        .title("Batch Task " + i)
+                        .status("PENDING")
+                        .priority("MEDIUM")
+                        .build())
+                .toList();
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(postTaskDtos)
+                .when()
+                .post("/api/v1/projects/{projectId}/tasks:batch", project.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("created", equalTo(BATCH_SIZE))
+                .body("failed", equalTo(0));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BATCH_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(BATCH_SIZE / 100 + 5);
+    }
+
+    @Test
+    void shouldCreateTaskAndProjectWithoutReadingUser() {
+        PostTaskDto postTaskDto = PostTaskDto.builder()
+                .title("Reference Task")
+                .status("PENDING")
+                .priority("MEDIUM")
+                .build();
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(postTaskDto)
+                .when()
+                .post("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(postTaskDto)
+                .when()
+                .post("/api/v1/projects/{projectId}/tasks", project.getId())
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "Reference Project"))
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        EntityStatistics userStatistics = statistics.getEntityStatistics(User.class.getName());
+        assertThat(userStatistics.getLoadCount()).isZero();
+        assertThat(userStatistics.getFetchCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+    }
+
+}
@@ -0,0 +1,316 @@
+package andrehsvictor.dotask.task;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+import andrehsvictor.dotask.project.ProjectRepository;
+import andrehsvictor.dotask.project.dto.PostProjectDto;
+import andrehsvictor.dotask.task.dto.PostTaskDto;
+import andrehsvictor.dotask.task.dto.PutTaskDto;
+import andrehsvictor.dotask.user.UserRepository;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+class TaskStatsIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatsReconciler taskStatsReconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String accessToken;
+    private UUID userId;
+    private String projectId;
+
+    @BeforeEach
+    void setup() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        VerifiedUser user = createVerifiedUserAndLogin();
+        userId = user.id();
+        accessToken = user.accessToken();
+
+        projectId = authenticated()
+                .contentType(ContentType.JSON)
+                .body(PostProjectDto.builder().name("Dashboard").build())
+                .when()
+                .post("/api/v1/projects")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCountTasksAsTheyChange() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        String overdue = createTask("/api/v1/tasks", task("Overdue", "PENDING", "HIGH", yesterday));
+        String later = createTask("/api/v1/tasks", task("Later", "IN_PROGRESS", "MEDIUM", yesterday.plusDays(2)));
+        String dropped = createTask("/api/v1/tasks", task("Dropped", "PENDING", "LOW", null));
+        createTask("/api/v1/projects/" + projectId + "/tasks", task("Late", "IN_PROGRESS", "MEDIUM", yesterday));
+        createTask("/api/v1/projects/" + projectId + "/tasks", task("Planned", "PENDING", "HIGH", null));
+
+        authenticated()
+                .queryParam("status", "COMPLETED")
+                .when()
+                .patch("/api/v1/tasks/" + overdue + "/status")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        authenticated()
+                .contentType(ContentType.JSON)
+                .body(PutTaskDto.builder().title("Later").status("CANCELLED").priority("LOW").build())
+                .when()
+                .put("/api/v1/tasks/" + later)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        authenticated()
+                .when()
+                .delete("/api/v1/tasks/" + dropped)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        authenticated()
+                .when()
+                .get("/api/v1/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(4))
+                .body("pending", equalTo(1))
+                .body("inProgress", equalTo(1))
+                .body("completed", equalTo(1))
+                .body("cancelled", equalTo(1))
+                .body("overdue", equalTo(1))
+                .body("byPriority.HIGH.total", equalTo(2))
+                .body("byPriority.HIGH.completed", equalTo(1))
+                .body("byPriority.MEDIUM.overdue", equalTo(1))
+                .body("byPriority.LOW.cancelled", equalTo(1));
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(2))
+                .body("pending", equalTo(1))
+                .body("inProgress", equalTo(1))
+                .body("overdue", equalTo(1))
+                .body("byPriority.LOW.total", equalTo(0));
+        assertThat(taskStatsReconciler.reconcile(userId)).isZero();
+    }
+
+    @Test
+    void shouldCountTasksWrittenInBulk() {
+        List<PostTaskDto> batch = IntStream.range(0, 6)
+                .mapToObj(i -> task("Batch " + i, i % 2 == 0 ? "PENDING" : "IN_PROGRESS", "MEDIUM", null))
+                .toList();
+        List<String> ids = authenticated()
+                .contentType(ContentType.JSON)
+                .body(batch)
+                .when()
+                .post("/api/v1/projects/" + projectId + "/tasks:batch")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .path("results.task.id");
+        createTask("/api/v1/tasks", task("Standalone", "PENDING", "LOW", null));
+
+        authenticated()
+                .contentType(ContentType.JSON)
+                .body(ids.subList(0, 2))
+                .when()
+                .delete("/api/v1/tasks")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(4))
+                .body("pending", equalTo(2))
+                .body("inProgress", equalTo(2));
+        assertThat(taskStatsReconciler.reconcile(userId)).isZero();
+
+        authenticated()
+                .when()
+                .delete("/api/v1/projects/" + projectId)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        authenticated()
+                .when()
+                .get("/api/v1/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(1))
+                .body("byPriority.MEDIUM.total", equalTo(0))
+                .body("byPriority.LOW.pending", equalTo(1));
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        assertThat(taskStatsReconciler.reconcile(userId)).isZero();
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdates() {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            CompletableFuture.allOf(IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> createTask(
+                            "/api/v1/projects/" + projectId + "/tasks",
+                            task("Concurrent " + i, "PENDING", i % 2 == 0 ? "HIGH" : "LOW", null)), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(40))
+                .body("byPriority.HIGH.pending", equalTo(20))
+                .body("byPriority.LOW.pending", equalTo(20));
+    }
+
+    @Test
+    void shouldNotDeadlockConcurrentCreatesAndBatchCreates() {
+        List<PostTaskDto> batch = List.of(
+                task("Batch high", "PENDING", "HIGH", null),
+                task("Batch low", "IN_PROGRESS", "LOW", null),
+                task("Batch medium", "PENDING", "MEDIUM", null));
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            CompletableFuture.allOf(IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        if (i % 2 == 0) {
+                            createTask("/api/v1/tasks", task("Single " + i, "PENDING", "HIGH", null));
+                        } else {
+                            authenticated()
+                                    .contentType(ContentType.JSON)
+                                    .body(batch)
+                                    .when()
+                                    .post("/api/v1/projects/" + projectId + "/tasks:batch")
+                                    .then()
+                                    .statusCode(HttpStatus.OK.value());
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        authenticated()
+                .when()
+                .get("/api/v1/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(80))
+                .body("byPriority.HIGH.pending", equalTo(40));
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(60))
+                .body("inProgress", equalTo(20));
+        assertThat(taskStatsReconciler.reconcile(userId)).isZero();
+    }
+
+    @Test
+    void shouldRepairDriftedCountersOnReconciliation() {
+        createTask("/api/v1/projects/" + projectId + "/tasks", task("Real", "PENDING", "HIGH", null));
+        jdbcTemplate.update("UPDATE user_task_stats SET task_count = 42 WHERE user_id = ?", userId);
+        jdbcTemplate.update("""
+                INSERT INTO project_task_stats (project_id, status, priority, task_count)
+                VALUES (?, 'COMPLETED', 'LOW', 3)
+                """, UUID.fromString(projectId));
+
+        taskStatsReconciler.reconcileAll();
+
+        authenticated()
+                .when()
+                .get("/api/v1/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(1))
+                .body("byPriority.HIGH.pending", equalTo(1));
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + projectId + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(1))
+                .body("completed", equalTo(0));
+        assertThat(taskStatsReconciler.reconcile(userId)).isZero();
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownProject() {
+        authenticated()
+                .when()
+                .get("/api/v1/projects/" + UUID.randomUUID() + "/tasks/stats")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    private String createTask(String path, PostTaskDto task) {
+        return authenticated()
+                .contentType(ContentType.JSON)
+                .body(task)
+                .when()
+                .post(path)
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    private PostTaskDto task(String title, String status, String priority, LocalDate dueDate) {
+        return PostTaskDto.builder()
+                .title(title)
+                .status(status)
+                .priority(priority)
+                .dueDate(dueDate != null ? dueDate.toString() : null)
+                .build();
+    }
+
+    private RequestSpecification authenticated() {
+        return given().header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    }
+
+}
@@ -0,0 +1,67 @@
+package andrehsvictor.dotask.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import andrehsvictor.dotask.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the compiled templates against reading the file and running one
+ * {@code String.replace} pass per variable on every render. Run with
+ * {@code -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TemplateRenderBenchmarkIT {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private static final Map<String, String> VARIABLES = Map.of(
+            "url", "https://example.com/verify",
+            "token", "ZDJmOGQ2NzQtNjE1Ni00ZjM4LWE4NjYtOWFmYjM0ZDE1ZTAw",
+            "expiresInPhrase", "1 hour");
+
+    private final TemplateService templateService = new TemplateService(new PathMatchingResourcePatternResolver());
+
+    @Test
+    void shouldRenderFasterThanReadAndReplace() {
+        Duration legacy = Benchmark.meanTime(WARMUP_ITERATIONS, MEASURED_ITERATIONS, this::readAndReplace);
+        Duration compiled = Benchmark.meanTime(WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> templateService.render("verify-email", VARIABLES));
+
+        log.info("Email template render: read and replace {} ns/op, compiled {} ns/op",
+                legacy.toNanos(), compiled.toNanos());
+
+        assertThat(templateService.render("verify-email", VARIABLES)).isEqualTo(readAndReplace());
+        assertThat(compiled).isLessThan(legacy);
+    }
+
+    private String readAndReplace() {
+        String template;
+        try (InputStream inputStream = new ClassPathResource("templates/verify-email.html").getInputStream()) {
+            template = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        Map<String, String> variables = new HashMap<>(VARIABLES);
+        String result = template;
+        for (Map.Entry<String, String> entry : variables.entrySet()) {
+            result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
+        }
+        return result;
+    }
+
+}
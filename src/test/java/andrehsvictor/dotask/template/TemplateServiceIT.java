@@ -0,0 +1,58 @@
+package andrehsvictor.dotask.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import andrehsvictor.dotask.AbstractIntegrationTest;
+
+class TemplateServiceIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private TemplateService templateService;
+
+    @Test
+    void shouldRenderAllPlaceholders() {
+        String html = templateService.render("verify-email", Map.of(
+                "url", "https://example.com/verify",
+                "token", "test-token",
+                "expiresInPhrase", "1 hour"));
+
+        assertThat(html)
+                .contains("https://example.com/verify")
+                .contains("test-token")
+                .contains("1 hour")
+                .doesNotContain("{{");
+    }
+
+    @Test
+    void shouldEscapeVariables() {
+        String html = templateService.render("reset-password", Map.of(
+                "url", "https://example.com/reset?a=1&b=\"2\"",
+                "token", "<script>alert('x')</script>",
+                "expiresInPhrase", "1 hour"));
+
+        assertThat(html)
+                .contains("https://example.com/reset?a=1&amp;b=&quot;2&quot;")
+                .contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;")
+                .doesNotContain("<script>");
+    }
+
+    @Test
+    void shouldRejectMissingVariable() {
+        assertThatThrownBy(() -> templateService.render("verify-email", Map.of("url", "https://example.com")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("token");
+    }
+
+    @Test
+    void shouldRejectUnknownTemplate() {
+        assertThatThrownBy(() -> templateService.render("unknown", Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -3,13 +3,17 @@ package andrehsvictor.dotask.token;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
 import andrehsvictor.dotask.AbstractIntegrationTest;
 import andrehsvictor.dotask.token.dto.CredentialsDto;
@@ -23,7 +27,7 @@ import io.restassured.http.ContentType;
 
 class TokenControllerIT extends AbstractIntegrationTest {
 
-    @Autowired
+    @MockitoSpyBean
     private UserRepository userRepository;
 
     private String userEmail;
@@ -225,6 +229,49 @@ class TokenControllerIT extends AbstractIntegrationTest {
                 .statusCode(HttpStatus.UNAUTHORIZED.value());
     }
 
+    @Test
+    void shouldLoadUserOnceWhenRequestingToken() {
+        clearInvocations(userRepository);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new CredentialsDto(userEmail, userPassword))
+                .when()
+                .post("/api/v1/token")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        verify(userRepository, times(1)).findByEmail(userEmail);
+    }
+
+    @Test
+    void shouldRehashOutdatedPasswordOnLogin() {
+        User user = userRepository.findByEmail(userEmail).orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(4).encode(userPassword));
+        userRepository.save(user);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new CredentialsDto(userEmail, userPassword))
+                .when()
+                .post("/api/v1/token")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        String rehashed = userRepository.findByEmail(userEmail).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("{bcrypt}$2a$10$");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new CredentialsDto(userEmail, userPassword))
+                .when()
+                .post("/api/v1/token")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        assertThat(userRepository.findByEmail(userEmail).orElseThrow().getPassword()).isEqualTo(rehashed);
+    }
+
     private void requestTokens() {
         if (accessToken == null || refreshToken == null) {
             CredentialsDto credentials = new CredentialsDto(userEmail, userPassword);